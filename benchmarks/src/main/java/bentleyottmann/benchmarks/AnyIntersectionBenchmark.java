@@ -0,0 +1,60 @@
+package bentleyottmann.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bentleyottmann.BentleyOttmann;
+import bentleyottmann.IntersectionResult;
+import bentleyottmann.SegmentGenerator;
+import bentleyottmann.SegmentStore;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Validation of a simple polygon, which has no crossings so the early exit never triggers, by the Shamos-Hoey
+ *         {@link BentleyOttmann#hasAnyIntersection()} against a full sweep.
+ *         </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AnyIntersectionBenchmark
+{
+	@Param({ "10000", "100000" })
+	public int segments;
+
+	private SegmentStore store;
+
+	@Benchmark
+	public IntersectionResult findIntersectingPairs()
+	{
+		return new BentleyOttmann(store).findIntersectingPairs();
+	}
+
+	@Benchmark
+	public boolean hasAnyIntersection()
+	{
+		return new BentleyOttmann(store).hasAnyIntersection();
+	}
+
+	@Setup
+	public void setUp()
+	{
+		store = SegmentStore.of(SegmentGenerator.starPolygon(segments, Inputs.RANGE, new Random(Inputs.SEED)));
+	}
+}
@@ -0,0 +1,36 @@
+package bentleyottmann.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Runs the benchmarks reporting throughput along with the allocation rate measured by the gc profiler, and
+ *         writes the results to jmh-result.json. Build with mvn package and run with
+ *         <code>java -jar benchmarks/target/benchmarks.jar [regex] [JMH options]</code>, e.g.,
+ *         <code>SweepBenchmark -p segments=1000</code>. Any of the usual JMH command line options override the
+ *         defaults of the benchmark classes.
+ *         </p>
+ */
+public class BenchmarkRunner
+{
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException
+	{
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		Options options = new OptionsBuilder()
+				.parent(commandLine)
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result("jmh-result.json")
+				.build();
+
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,103 @@
+package bentleyottmann.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import bentleyottmann.BinarySearchTree;
+import bentleyottmann.SegmentStore;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Isolated operations of the sweep line status, over parallel line segments which all start on the same
+ *         sweep line position and are inserted in random order.
+ *         </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinarySearchTreeBenchmark
+{
+	@Param({ "1000", "100000" })
+	public int segments;
+
+	private SegmentStore store;
+	private int[] order; // Random insertion order of the line segments.
+	private BinarySearchTree filled;
+
+	@Benchmark
+	public BinarySearchTree add()
+	{
+		BinarySearchTree tree = new BinarySearchTree(store);
+
+		for (int s : order)
+		{
+			tree.add(s, 0.0, store.getY1(s));
+		}
+
+		return tree;
+	}
+
+	@Benchmark
+	public BinarySearchTree addRemove()
+	{
+		BinarySearchTree tree = add();
+
+		for (int s : order)
+		{
+			tree.remove(s, 0.0, store.getY1(s));
+		}
+
+		return tree;
+	}
+
+	@Benchmark
+	public void findNode(Blackhole bh)
+	{
+		for (int s : order)
+		{
+			bh.consume(filled.findNode(s, 0.0, store.getY1(s)));
+		}
+	}
+
+	@Setup
+	public void setUp()
+	{
+		Random rand = new Random(Inputs.SEED);
+		store = new SegmentStore(segments);
+		order = new int[segments];
+
+		for (int i = 0; i < segments; i++)
+		{
+			store.add(0.0, i, Inputs.RANGE, i + 0.5);
+			order[i] = i;
+		}
+
+		// Fisher-Yates shuffle of the insertion order.
+		for (int i = segments - 1; i > 0; i--)
+		{
+			int j = rand.nextInt(i + 1);
+			int temp = order[i];
+			order[i] = order[j];
+			order[j] = temp;
+		}
+
+		filled = add();
+	}
+}
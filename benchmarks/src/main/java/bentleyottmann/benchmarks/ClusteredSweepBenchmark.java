@@ -0,0 +1,76 @@
+package bentleyottmann.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bentleyottmann.BentleyOttmann;
+import bentleyottmann.ClusteredBentleyOttmann;
+import bentleyottmann.IntersectionResult;
+import bentleyottmann.SegmentStore;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Single sweeps against the {@link ClusteredBentleyOttmann} pre-pass, which drops isolated line segments and
+ *         sweeps each cluster on its own, on a pool of the given number of threads. The clustered input is the sparse
+ *         case the pre-pass is meant for, the others show its overhead when little or nothing can be dropped.
+ *         </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ClusteredSweepBenchmark
+{
+	@Param({ "clustered", "uniform", "grid", "starburst" })
+	public String input;
+
+	@Param({ "100000" })
+	public int segments;
+
+	@Param({ "1", "4" })
+	public int threads;
+
+	private SegmentStore store;
+	private ForkJoinPool pool;
+
+	@Benchmark
+	public IntersectionResult clusteredSweep()
+	{
+		return new ClusteredBentleyOttmann(store, pool).findIntersectingPairs();
+	}
+
+	@Setup
+	public void setUp()
+	{
+		store = SegmentStore.of(Inputs.generate(input, segments));
+		pool = new ForkJoinPool(threads);
+	}
+
+	@Benchmark
+	public IntersectionResult sweep()
+	{
+		return new BentleyOttmann(store).findIntersectingPairs();
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		pool.shutdown();
+	}
+}
@@ -0,0 +1,175 @@
+package bentleyottmann.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import bentleyottmann.BentleyOttmann;
+import bentleyottmann.BinarySearchTree;
+import bentleyottmann.LineSegment;
+import bentleyottmann.Point;
+import bentleyottmann.SegmentStore;
+import bentleyottmann.SweepListener;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Number of calls to the comparator of the sweep line status, {@link SegmentStore#compare(int, int, double,
+ *         double)}, per event of a whole sweep and per lookup of {@link BinarySearchTree#findNode(int, double, double)}
+ *         in a filled tree. The counts are reported as the comparisons and events secondary results, whose ratio is
+ *         the number of comparisons per event. Each descent of the tree compares once per node on its path, so a
+ *         lookup takes at most about 2 log(n + 1) comparisons, where a descent comparing twice per node took twice
+ *         as many.
+ *         </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ComparisonCountBenchmark
+{
+	/**
+	 * Comparisons and events of an iteration, summed by JMH over the measured iterations.
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Counts
+	{
+		public long comparisons;
+		public long events;
+
+		@Setup(Level.Iteration)
+		public void clear()
+		{
+			comparisons = 0;
+			events = 0;
+		}
+	}
+
+	// Store counting the calls to its comparator.
+	private static final class CountingSegmentStore extends SegmentStore
+	{
+		private long comparisons;
+
+		CountingSegmentStore(int capacity)
+		{
+			super(capacity);
+		}
+
+		@Override
+		public int compare(int a, int b, double eventX, double eventY)
+		{
+			comparisons++;
+
+			return super.compare(a, b, eventX, eventY);
+		}
+	}
+
+	@Param({ "uniform", "grid", "starburst", "nearlyParallel", "sorted" })
+	public String input;
+
+	@Param({ "1000", "100000" })
+	public int segments;
+
+	private CountingSegmentStore store;
+	private CountingSegmentStore parallel; // Parallel line segments all starting on the same sweep line position.
+	private int[] order; // Random lookup order of the parallel line segments.
+	private BinarySearchTree filled;
+
+	@Benchmark
+	public void findNode(Counts counts, Blackhole bh)
+	{
+		long before = parallel.comparisons;
+
+		for (int s : order)
+		{
+			bh.consume(filled.findNode(s, 0.0, parallel.getY1(s)));
+		}
+
+		counts.comparisons += parallel.comparisons - before;
+		counts.events += order.length;
+	}
+
+	@Setup
+	public void setUp()
+	{
+		store = new CountingSegmentStore(segments);
+
+		for (LineSegment segment : Inputs.generate(input, segments))
+		{
+			store.add(segment);
+		}
+
+		Random rand = new Random(Inputs.SEED);
+		parallel = new CountingSegmentStore(segments);
+		order = new int[segments];
+		filled = new BinarySearchTree(parallel);
+
+		for (int i = 0; i < segments; i++)
+		{
+			parallel.add(0.0, i, Inputs.RANGE, i + 0.5);
+			order[i] = i;
+		}
+
+		// Fisher-Yates shuffle of the lookup order, the tree being filled in the same random order.
+		for (int i = segments - 1; i > 0; i--)
+		{
+			int j = rand.nextInt(i + 1);
+			int temp = order[i];
+			order[i] = order[j];
+			order[j] = temp;
+		}
+
+		for (int s : order)
+		{
+			filled.add(s, 0.0, parallel.getY1(s));
+		}
+	}
+
+	@Benchmark
+	public void sweep(Counts counts, Blackhole bh)
+	{
+		long before = store.comparisons;
+		BentleyOttmann sweep = new BentleyOttmann(store);
+
+		sweep.setSweepListener(new SweepListener()
+		{
+			@Override
+			public void intersectionFound(Point intersection, int segment, int intersectionSegment)
+			{
+				counts.events++;
+			}
+
+			@Override
+			public void segmentAdded(int segment)
+			{
+				counts.events++;
+			}
+
+			@Override
+			public void segmentRemoved(int segment)
+			{
+				counts.events++;
+			}
+		});
+		sweep.findIntersectionPoints((x, y, run, count) -> bh.consume(count));
+
+		counts.comparisons += store.comparisons - before;
+	}
+}
@@ -0,0 +1,93 @@
+package bentleyottmann.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bentleyottmann.Event;
+import bentleyottmann.EventQueue;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Fills and drains the primitive-packed {@link EventQueue} and the object heap of {@link ObjectEventQueue}
+ *         with the same random events, comparing the two layouts at sizes well beyond the caches.
+ *         </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class EventLayoutBenchmark
+{
+	@Param({ "1000000", "10000000" })
+	public int events;
+
+	private double[] xs, ys;
+
+	@Benchmark
+	public double objectHeap()
+	{
+		ObjectEventQueue eq = new ObjectEventQueue(events + 1);
+		double sum = 0.0;
+
+		for (int i = 0; i < events; i++)
+		{
+			eq.add(new Event(xs[i], ys[i], i, -1, Event.Type.LEFT));
+		}
+
+		while (!eq.isEmpty())
+		{
+			sum += eq.removeMin().getY();
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	public double packedHeap()
+	{
+		EventQueue eq = new EventQueue(events + 1);
+		Event event = new Event();
+		double sum = 0.0;
+
+		for (int i = 0; i < events; i++)
+		{
+			eq.add(xs[i], ys[i], Event.Type.LEFT, i, -1);
+		}
+
+		while (!eq.isEmpty())
+		{
+			sum += eq.removeMin(event).getY();
+		}
+
+		return sum;
+	}
+
+	@Setup
+	public void setUp()
+	{
+		Random rand = new Random(Inputs.SEED);
+		xs = new double[events];
+		ys = new double[events];
+
+		for (int i = 0; i < events; i++)
+		{
+			xs[i] = Inputs.RANGE * rand.nextDouble();
+			ys[i] = Inputs.RANGE * rand.nextDouble();
+		}
+	}
+}
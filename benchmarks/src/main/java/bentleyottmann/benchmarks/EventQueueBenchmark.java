@@ -0,0 +1,129 @@
+package bentleyottmann.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bentleyottmann.Event;
+import bentleyottmann.EventQueue;
+import bentleyottmann.SegmentStore;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Isolated operations of the {@link EventQueue}: building it from the endpoints of a store and draining it,
+ *         adding and removing the minimum, scheduling intersection events idempotently by their pair of line segments,
+ *         and removing pending intersection events found by their pair of line segments.
+ *         </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventQueueBenchmark
+{
+	@Param({ "10000", "1000000" })
+	public int events;
+
+	private SegmentStore store;
+	private double[] xs, ys;
+
+	@Benchmark
+	public double addRemoveMin()
+	{
+		EventQueue eq = new EventQueue(events + 1);
+		Event event = new Event();
+		double sum = 0.0;
+
+		for (int i = 0; i < events; i++)
+		{
+			eq.add(xs[i], ys[i], Event.Type.LEFT, i, -1);
+		}
+
+		while (!eq.isEmpty())
+		{
+			sum += eq.removeMin(event).getY();
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	public int addIntersection()
+	{
+		EventQueue eq = new EventQueue(events + 1);
+
+		// Every pair is scheduled twice, as when two line segments become neighbours again, the second time is a no-op.
+		for (int pass = 0; pass < 2; pass++)
+		{
+			for (int i = 0; i < events; i++)
+			{
+				eq.addIntersection(xs[i], ys[i], i, i + 1);
+			}
+		}
+
+		return eq.size();
+	}
+
+	@Benchmark
+	public double drainStore()
+	{
+		EventQueue eq = new EventQueue(store, 0);
+		Event event = new Event();
+		double sum = 0.0;
+
+		while (!eq.isEmpty())
+		{
+			sum += eq.removeMin(event).getY();
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	public int removeIntersection()
+	{
+		EventQueue eq = new EventQueue(events + 1);
+
+		for (int i = 0; i < events; i++)
+		{
+			eq.addIntersection(xs[i], ys[i], i, i + 1);
+		}
+
+		for (int i = 0; i < events; i++)
+		{
+			eq.remove(eq.findIntersectionEvent(i, i + 1));
+		}
+
+		return eq.size();
+	}
+
+	@Setup
+	public void setUp()
+	{
+		Random rand = new Random(Inputs.SEED);
+		xs = new double[events];
+		ys = new double[events];
+
+		for (int i = 0; i < events; i++)
+		{
+			xs[i] = Inputs.RANGE * rand.nextDouble();
+			ys[i] = Inputs.RANGE * rand.nextDouble();
+		}
+
+		store = SegmentStore.of(Inputs.generate("uniform", events / 2));
+	}
+}
@@ -0,0 +1,89 @@
+package bentleyottmann.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import bentleyottmann.BentleyOttmann;
+import bentleyottmann.FixedPointSegmentStore;
+import bentleyottmann.LineSegment;
+import bentleyottmann.SegmentStore;
+import bentleyottmann.SnapRounder;
+import bentleyottmann.SnapRounding;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Sweeps of the same line segments rounded to an integer grid, held either in a {@link SegmentStore} with
+ *         double predicates or in a {@link FixedPointSegmentStore} with exact integer ones, along with the full snap
+ *         rounding of the grid line segments by {@link SnapRounder}.
+ *         </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class FixedPointBenchmark
+{
+	private static final double SCALE = 10000.0; // Grid units per unit of the inputs.
+
+	@Param({ "uniform", "grid", "starburst", "nearlyParallel" })
+	public String input;
+
+	@Param({ "10000" })
+	public int segments;
+
+	private SegmentStore doubleStore;
+	private FixedPointSegmentStore fixedStore;
+
+	@Benchmark
+	public void doubleSweep(Blackhole bh)
+	{
+		new BentleyOttmann(doubleStore).findIntersections((x, y, a, b) -> bh.consume(a));
+	}
+
+	@Benchmark
+	public void fixedSweep(Blackhole bh)
+	{
+		new BentleyOttmann(fixedStore).findIntersections((x, y, a, b) -> bh.consume(a));
+	}
+
+	@Setup
+	public void setUp()
+	{
+		List<LineSegment> generated = Inputs.generate(input, segments);
+		doubleStore = new SegmentStore(segments);
+		fixedStore = new FixedPointSegmentStore(segments);
+
+		for (LineSegment s : generated)
+		{
+			long ax = Math.round(s.getP1().getX() * SCALE);
+			long ay = Math.round(s.getP1().getY() * SCALE);
+			long bx = Math.round(s.getP2().getX() * SCALE);
+			long by = Math.round(s.getP2().getY() * SCALE);
+
+			doubleStore.add((double) ax, (double) ay, (double) bx, (double) by);
+			fixedStore.add(ax, ay, bx, by);
+		}
+	}
+
+	@Benchmark
+	public SnapRounding snapRound()
+	{
+		return new SnapRounder(fixedStore).snapRound();
+	}
+}
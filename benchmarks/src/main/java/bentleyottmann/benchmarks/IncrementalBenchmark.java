@@ -0,0 +1,87 @@
+package bentleyottmann.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bentleyottmann.BentleyOttmann;
+import bentleyottmann.IncrementalIntersections;
+import bentleyottmann.IntersectionResult;
+import bentleyottmann.LineSegment;
+import bentleyottmann.SegmentStore;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Edit of a single line segment, removed and added back through {@link IncrementalIntersections}, against a
+ *         full sweep of all of the line segments, which is what an edit costs without the incremental index.
+ *         </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class IncrementalBenchmark
+{
+	@Param({ "uniform", "starburst" })
+	public String input;
+
+	@Param({ "100000" })
+	public int segments;
+
+	private SegmentStore store;
+	private IncrementalIntersections incremental;
+	private int[] ids; // Current id of each edited line segment, which changes as it is added back.
+	private Random rand;
+
+	@Setup(Level.Iteration)
+	public void setUp()
+	{
+		List<LineSegment> generated = Inputs.generate(input, segments);
+		// The incremental index gets its own store, which grows with every edit.
+		store = SegmentStore.of(generated);
+		incremental = new IncrementalIntersections(SegmentStore.of(generated));
+		ids = new int[segments];
+		rand = new Random(Inputs.SEED);
+
+		for (int i = 0; i < segments; i++)
+		{
+			ids[i] = i;
+		}
+	}
+
+	@Benchmark
+	public IntersectionResult sweep()
+	{
+		return new BentleyOttmann(store).findIntersectingPairs();
+	}
+
+	@Benchmark
+	public int update()
+	{
+		int i = rand.nextInt(segments);
+		int id = ids[i];
+		SegmentStore indexed = incremental.getSegmentStore();
+
+		incremental.removeSegment(id);
+		ids[i] = incremental.addSegment(indexed.getX1(id), indexed.getY1(id), indexed.getX2(id), indexed.getY2(id),
+				null);
+
+		return incremental.getCrossingCount();
+	}
+}
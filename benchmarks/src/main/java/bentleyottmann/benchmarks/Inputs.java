@@ -0,0 +1,66 @@
+package bentleyottmann.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import bentleyottmann.LineSegment;
+import bentleyottmann.SegmentGenerator;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Named inputs of the benchmarks, each a {@link SegmentGenerator} shape within the same range and sized so
+ *         that the number of crossings grows roughly linearly with the number of line segments.
+ *         </p>
+ */
+final class Inputs
+{
+	static final double RANGE = 1000.0;
+	static final long SEED = 42L;
+
+	/**
+	 * Generates the named input.
+	 *
+	 * @param name  one of uniform, long, grid, starburst, nearlyParallel, sorted or clustered.
+	 * @param count number of line segments.
+	 */
+	static List<LineSegment> generate(String name, int count)
+	{
+		Random rand = new Random(SEED);
+		// Short line segments keep the density of uniform inputs constant as the count grows.
+		double maxLength = RANGE * 2.0 / Math.sqrt(count);
+
+		switch (name)
+		{
+			case "uniform":
+				return SegmentGenerator.uniform(count, RANGE, maxLength, rand);
+			case "long":
+				// Short line segments mixed with a square root of long ones reaching across the range, each of which
+				// crosses about as many short ones.
+				int longCount = (int) Math.sqrt(count);
+				ArrayList<LineSegment> segments = new ArrayList<>(
+						SegmentGenerator.uniform(count - longCount, RANGE, maxLength, rand));
+
+				segments.addAll(SegmentGenerator.uniform(longCount, RANGE, RANGE, rand));
+
+				return segments;
+			case "grid":
+				return SegmentGenerator.grid(count, RANGE, rand);
+			case "starburst":
+				return SegmentGenerator.starburst(count, 16, RANGE, maxLength, rand);
+			case "nearlyParallel":
+				return SegmentGenerator.nearlyParallel(count, RANGE, rand);
+			case "sorted":
+				return SegmentGenerator.sorted(count, RANGE, maxLength, rand);
+			case "clustered":
+				return SegmentGenerator.clustered(count, 8, RANGE, maxLength / 4, rand);
+			default:
+				throw new IllegalArgumentException("Unknown input: " + name);
+		}
+	}
+
+	private Inputs()
+	{
+	}
+}
@@ -0,0 +1,92 @@
+package bentleyottmann.benchmarks;
+
+import java.util.Arrays;
+
+import bentleyottmann.Event;
+import bentleyottmann.Globals;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Binary min heap of {@link Event} objects, the layout the event queue had before it packed events into
+ *         primitive arrays. Only kept as the baseline of {@link EventLayoutBenchmark}.
+ *         </p>
+ */
+class ObjectEventQueue
+{
+	private Event[] heap; // Indexed starting at 1.
+	private int length;
+
+	ObjectEventQueue(int arraySize)
+	{
+		heap = new Event[Math.max(arraySize, 16)];
+	}
+
+	void add(Event e)
+	{
+		if (length + 1 == heap.length)
+		{
+			heap = Arrays.copyOf(heap, heap.length + (heap.length >> 1));
+		}
+
+		int loc = ++length;
+
+		while (loc > 1 && precedes(e, heap[loc / 2]))
+		{
+			heap[loc] = heap[loc / 2];
+			loc /= 2;
+		}
+
+		heap[loc] = e;
+	}
+
+	boolean isEmpty()
+	{
+		return length == 0;
+	}
+
+	// Determines whether event a precedes event b, by x and then by y.
+	private boolean precedes(Event a, Event b)
+	{
+		if (Math.abs(a.getX() - b.getX()) < Globals.POINT_EPSILON)
+		{
+			return a.getY() < b.getY();
+		}
+
+		return a.getX() < b.getX();
+	}
+
+	Event removeMin()
+	{
+		Event min = heap[1];
+		Event last = heap[length];
+		heap[length--] = null;
+
+		int parent = 1;
+
+		while (parent * 2 <= length)
+		{
+			int child = parent * 2;
+
+			if (child != length && precedes(heap[child + 1], heap[child]))
+			{
+				child++;
+			}
+
+			if (!precedes(heap[child], last))
+			{
+				break;
+			}
+
+			heap[parent] = heap[child];
+			parent = child;
+		}
+
+		if (length > 0)
+		{
+			heap[parent] = last;
+		}
+
+		return min;
+	}
+}
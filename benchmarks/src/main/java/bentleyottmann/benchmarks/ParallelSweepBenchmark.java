@@ -0,0 +1,70 @@
+package bentleyottmann.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bentleyottmann.IntersectionResult;
+import bentleyottmann.ParallelBentleyOttmann;
+import bentleyottmann.SegmentStore;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Speedup curve of the slab-partitioned {@link ParallelBentleyOttmann}, with one slab per worker of a pool of
+ *         the given number of threads. The run with a single thread is the sequential baseline, e.g., run with
+ *         <code>-p threads=1,2,4,8,16,32,64</code> on a 64-core node. The long and nearlyParallel inputs have line
+ *         segments spanning many slabs, which every slab they cross starts with in its sweep line status.
+ *         </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ParallelSweepBenchmark
+{
+	@Param({ "uniform", "long", "starburst", "nearlyParallel" })
+	public String input;
+
+	@Param({ "100000" })
+	public int segments;
+
+	@Param({ "1", "2", "4", "8" })
+	public int threads;
+
+	private SegmentStore store;
+	private ForkJoinPool pool;
+
+	@Benchmark
+	public IntersectionResult findIntersectingPairs()
+	{
+		return new ParallelBentleyOttmann(store, pool, threads).findIntersectingPairs();
+	}
+
+	@Setup
+	public void setUp()
+	{
+		store = SegmentStore.of(Inputs.generate(input, segments));
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		pool.shutdown();
+	}
+}
@@ -0,0 +1,68 @@
+package bentleyottmann.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bentleyottmann.BentleyOttmann;
+import bentleyottmann.IntersectionResult;
+import bentleyottmann.SegmentStore;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Small tile-sized sweeps, run either by a new {@link BentleyOttmann} engine each time or by a single engine
+ *         reset for each sweep, which collects into the same {@link IntersectionResult} and allocates nothing once
+ *         warmed up.
+ *         </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ReusedSweepBenchmark
+{
+	@Param({ "uniform", "starburst" })
+	public String input;
+
+	@Param({ "100", "1000" })
+	public int segments;
+
+	private SegmentStore store;
+	private BentleyOttmann engine;
+	private IntersectionResult result;
+
+	@Benchmark
+	public IntersectionResult freshSweep()
+	{
+		return new BentleyOttmann(store).findIntersectingPairs();
+	}
+
+	@Benchmark
+	public IntersectionResult reusedSweep()
+	{
+		engine.setSegments(store, 0);
+
+		return engine.findIntersectingPairs(result);
+	}
+
+	@Setup
+	public void setUp()
+	{
+		store = SegmentStore.of(Inputs.generate(input, segments));
+		engine = new BentleyOttmann(store);
+		result = new IntersectionResult();
+	}
+}
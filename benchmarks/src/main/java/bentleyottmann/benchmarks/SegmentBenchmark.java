@@ -0,0 +1,136 @@
+package bentleyottmann.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bentleyottmann.LineSegment;
+import bentleyottmann.Point;
+import bentleyottmann.SegmentStore;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Comparisons and crossing computations between pairs of line segments which overlap along x, through
+ *         {@link LineSegment} objects and through the same line segments held in a {@link SegmentStore}. About half of
+ *         the pairs cross. The pairs can be offset to large coordinates, such as projected metres, where more of the
+ *         orientations fall back to exact arithmetic.
+ *         </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SegmentBenchmark
+{
+	private static final int PAIRS = 1024;
+
+	@Param({ "0", "1000000" })
+	public double offset;
+
+	private LineSegment[] a, b;
+	private Point[] eventPoints; // Left endpoint of each line segment of a.
+	private SegmentStore store; // Line segment a[i] has id 2i, and b[i] has id 2i + 1.
+	private double[] crossing = new double[2];
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public int compareTo()
+	{
+		int sum = 0;
+
+		for (int i = 0; i < PAIRS; i++)
+		{
+			sum += a[i].compareTo(b[i], eventPoints[i]);
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public double getIntersectionPointWith()
+	{
+		double sum = 0.0;
+
+		for (int i = 0; i < PAIRS; i++)
+		{
+			if (a[i].getIntersectionPointWith(b[i], crossing))
+			{
+				sum += crossing[0];
+			}
+		}
+
+		return sum;
+	}
+
+	@Setup
+	public void setUp()
+	{
+		Random rand = new Random(Inputs.SEED);
+		a = new LineSegment[PAIRS];
+		b = new LineSegment[PAIRS];
+		eventPoints = new Point[PAIRS];
+		store = new SegmentStore(2 * PAIRS);
+
+		for (int i = 0; i < PAIRS; i++)
+		{
+			double left = 10.0 + 30.0 * rand.nextDouble();
+			double right = 60.0 + 30.0 * rand.nextDouble();
+
+			a[i] = new LineSegment(new Point(offset + left, offset + 100.0 * rand.nextDouble()), new Point(
+					offset + right, offset + 100.0 * rand.nextDouble()));
+			b[i] = new LineSegment(new Point(offset, offset + 100.0 * rand.nextDouble()), new Point(offset + 100.0,
+					offset + 100.0 * rand.nextDouble()));
+			eventPoints[i] = a[i].getLeftEndpoint();
+
+			store.add(a[i]);
+			store.add(b[i]);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public int storeCompare()
+	{
+		int sum = 0;
+
+		for (int i = 0; i < PAIRS; i++)
+		{
+			sum += store.compare(2 * i, 2 * i + 1, eventPoints[i].getX(), eventPoints[i].getY());
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public double storeIntersection()
+	{
+		double sum = 0.0;
+
+		for (int i = 0; i < PAIRS; i++)
+		{
+			if (store.intersection(2 * i, 2 * i + 1, crossing))
+			{
+				sum += crossing[0];
+			}
+		}
+
+		return sum;
+	}
+}
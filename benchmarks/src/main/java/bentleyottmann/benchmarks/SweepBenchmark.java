@@ -0,0 +1,64 @@
+package bentleyottmann.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import bentleyottmann.BentleyOttmann;
+import bentleyottmann.Point;
+import bentleyottmann.SegmentStore;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         End-to-end sweeps of {@link BentleyOttmann#findIntersections()} over each input shape, from an already
+ *         filled {@link SegmentStore}, either collecting the points of intersection or streaming the crossings to a
+ *         sink.
+ *         </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SweepBenchmark
+{
+	@Param({ "uniform", "grid", "starburst", "nearlyParallel", "sorted" })
+	public String input;
+
+	@Param({ "1000", "10000" })
+	public int segments;
+
+	private SegmentStore store;
+
+	@Benchmark
+	public List<Point> findIntersections()
+	{
+		return new BentleyOttmann(store).findIntersections();
+	}
+
+	@Benchmark
+	public void streamIntersections(Blackhole bh)
+	{
+		new BentleyOttmann(store).findIntersections((x, y, a, b) -> bh.consume(a));
+	}
+
+	@Setup
+	public void setUp()
+	{
+		store = SegmentStore.of(Inputs.generate(input, segments));
+	}
+}
@@ -0,0 +1,660 @@
+package bentleyottmann;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Headless sweep line engine which finds the intersections of a set of line segments. The line segments are
+ *         held in a {@link SegmentStore} and the events and sweep line status refer to them by id. The engine has no
+ *         knowledge of any display, progression of the sweep can be observed by registering a {@link SweepListener}.
+ *         </p>
+ *         <p>
+ *         All of the line segments crossing at the same point are handled by a single event, which reverses their
+ *         contiguous run in the sweep line status in one pass and only checks the two ends of the run against their new
+ *         neighbours. Reported to an {@link IntersectionPointSink}, each point of intersection is emitted once with
+ *         its run, and the sweep takes O((n + k) log n + m) time for k points of intersection with m line segments
+ *         through them in all. Reporting every crossing pair instead adds the time to test the pairs of each run,
+ *         quadratic in its length. Intersection events are kept pending when their line segments stop being
+ *         neighbours, scheduling being idempotent per pair of line segments, so no event is ever looked up by its
+ *         coordinates.
+ *         </p>
+ *         <p>
+ *         Event points are ordered by x and then by y, so a vertical line segment is swept from bottom to top and
+ *         meets the line segments it crosses one at a time, lying above every line segment which starts on it. Line
+ *         segments reduced to a point, collinear overlaps and endpoints touching other line segments are not crossings.
+ *         </p>
+ *         <p>
+ *         Every decision of the sweep is exact, as is {@link SegmentStore#crosses(int, int)}: the order of the event
+ *         points, whether two events share their event point, whether a line segment belongs to the run through a
+ *         crossing, and whether a crossing lies ahead of the current event point. Crossings which are near an endpoint
+ *         or near each other, as they are between line segments with decimal coordinates meeting at grid points, are
+ *         thereby never merged, reordered or scheduled behind the sweep, and the sweep finds exactly the crossing pairs
+ *         which a brute force test of every pair finds.
+ *         </p>
+ *         <p>
+ *         In layered mode only the crossings between line segments of different layers are found, e.g., for the
+ *         red-blue intersection of two sets. Intersection events are never scheduled for neighbours in the same layer,
+ *         so each layer must be free of crossings of its own, as the order of such line segments in the sweep line
+ *         status would not be swapped where they cross. Layers made of line segments meeting only at their endpoints,
+ *         such as road or river networks, are.
+ *         </p>
+ *         <p>
+ *         An engine can run any number of sweeps, over new line segments given to
+ *         {@link #setSegments(SegmentStore, int)} or over the same ones again after {@link #reset()}. Its event queue
+ *         and sweep line status keep their storage and nodes from one sweep to the next, so that many small sweeps run
+ *         by the same engine, collecting into the same {@link IntersectionResult}, allocate nothing once warmed up.
+ *         </p>
+ */
+public class BentleyOttmann
+{
+	/**
+	 * Creates a layered sweep finding the crossings between two sets of line segments, each free of crossings of its
+	 * own. The ids of the red line segments are their indices, followed by those of the blue line segments.
+	 *
+	 * @param red  the line segments of layer 0.
+	 * @param blue the line segments of layer 1.
+	 * @return the sweep, in layered mode.
+	 */
+	public static BentleyOttmann bichromatic(List<LineSegment> red, List<LineSegment> blue)
+	{
+		SegmentStore store = new SegmentStore(red.size() + blue.size());
+
+		for (LineSegment segment : red)
+		{
+			store.setLayer(store.add(segment), 0);
+		}
+
+		for (LineSegment segment : blue)
+		{
+			store.setLayer(store.add(segment), 1);
+		}
+
+		BentleyOttmann sweep = new BentleyOttmann(store);
+		sweep.setLayered(true);
+
+		return sweep;
+	}
+
+	private SegmentStore store;
+	private EventQueue eq;
+	private BinarySearchTree sweepLine;
+	private SweepListener listener; // Typically null, unless the sweep is being visualized.
+	private boolean layered; // Whether only crossings between line segments of different layers are found.
+	// Scratch buffer receiving the coordinates of crossing points, and the bound on their rounding error.
+	private double[] crossing = new double[3];
+	private double[] eventCrossing = new double[3]; // Crossing of the intersection event being handled.
+	private Event event = new Event(); // Reused to receive each event removed from the queue.
+	private Event next = new Event(); // Reused to look at the next event in the queue.
+	private double[] firstCrossing = new double[3]; // Leftmost crossing found by an early-exit sweep.
+	private int[] firstPair = new int[2]; // Line segments of that crossing.
+	private int[] run = new int[16]; // Line segments through the point of the intersection event, from bottom to top.
+
+	public BentleyOttmann(List<LineSegment> segments)
+	{
+		this(segments, 0);
+	}
+
+	/**
+	 * @param segments              the line segments to be swept.
+	 * @param expectedIntersections hint of the number of intersections, used to pre-size the event queue.
+	 */
+	public BentleyOttmann(List<LineSegment> segments, int expectedIntersections)
+	{
+		this(SegmentStore.of(segments), expectedIntersections);
+	}
+
+	public BentleyOttmann(SegmentStore store)
+	{
+		this(store, 0);
+	}
+
+	/**
+	 * @param store                 the line segments to be swept, ids of the line segments are used in the events.
+	 * @param expectedIntersections hint of the number of intersections, used to pre-size the event queue.
+	 */
+	public BentleyOttmann(SegmentStore store, int expectedIntersections)
+	{
+		setSegments(store, expectedIntersections);
+	}
+
+	// Compares the event point of another event with that of the current event, exactly.
+	private int compareWithEvent(Event other)
+	{
+		return store.compareEventPoints(other.getX(), other.getY(), other.getError(), other.getSegment(),
+				other.getIntersectionSegment(), event.getX(), event.getY(), event.getError(), event.getSegment(),
+				event.getIntersectionSegment());
+	}
+
+	// Compares the crossing of line segments a and b, held in the crossing buffer, with the event point of the current
+	// event, exactly.
+	private int compareWithEvent(int a, int b)
+	{
+		return store.compareEventPoints(crossing[0], crossing[1], crossing[2], a, b, event.getX(), event.getY(),
+				event.getError(), event.getSegment(), event.getIntersectionSegment());
+	}
+
+	// Checks if the sweep reports the crossing of two line segments, which in layered mode lie in different layers.
+	private boolean crosses(int a, int b)
+	{
+		return (!layered || store.getLayer(a) != store.getLayer(b)) && store.crosses(a, b);
+	}
+
+	// Sweeps the endpoint events only, checking each new pair of neighbours in the sweep line status, until a crossing
+	// is found. To find the leftmost crossing, the sweep goes on until it passes the leftmost crossing found so far.
+	// Up to there the sweep line status stays in order, and the line segments of any crossing to the left of it would
+	// have become neighbours.
+	private boolean findCrossing(boolean leftmost, IntersectionSink sink)
+	{
+		double[] first = firstCrossing;
+		int[] pair = firstPair;
+		pair[0] = pair[1] = -1;
+
+		while (!eq.isEmpty() && (pair[0] < 0 || (leftmost && store.compareEventPoints(first[0], first[1], first[2],
+				pair[0], pair[1], eq.min(next).getX(), next.getY(), 0.0, next.getSegment(), -1) >= 0)))
+		{
+			eq.removeMin(event);
+
+			if (event.getEventType() == Event.Type.LEFT)
+			{
+				int current = sweepLine.add(event.getSegment(), event.getX(), event.getY());
+
+				recordCrossing(current, sweepLine.getSuccessor(current), first, pair);
+				recordCrossing(current, sweepLine.getPredecessor(current), first, pair);
+
+				if (listener != null)
+				{
+					listener.segmentAdded(event.getSegment());
+				}
+			} else
+			{
+				// No intersection events are ever scheduled, so this is the right endpoint of a line segment.
+				int removed = sweepLine.getNode(event.getSegment());
+				int above = sweepLine.getSuccessor(removed);
+				int below = sweepLine.getPredecessor(removed);
+
+				sweepLine.removeNode(removed);
+				recordCrossing(above, below, first, pair);
+
+				if (listener != null)
+				{
+					listener.segmentRemoved(event.getSegment());
+				}
+			}
+		}
+
+		if (pair[0] < 0)
+		{
+			return false;
+		}
+
+		if (sink != null)
+		{
+			sink.accept(first[0], first[1], pair[0], pair[1]);
+		}
+
+		if (listener != null)
+		{
+			listener.intersectionFound(new Point(first[0], first[1]), pair[0], pair[1]);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Runs a sweep which stops as soon as the leftmost crossing is known, the first one in the order of the sweep,
+	 * without scheduling any intersection events, in O(n log n) time.
+	 *
+	 * @param sink receives the leftmost crossing pair of line segments, with their point of intersection, if any.
+	 * @return true if any two line segments cross.
+	 */
+	public boolean findFirstIntersection(IntersectionSink sink)
+	{
+		return findCrossing(true, sink);
+	}
+
+	/**
+	 * Runs the sweep, collecting every crossing pair of line segments along with its point of intersection.
+	 *
+	 * @return the crossings, which can also be viewed per point of intersection with all of its line segments.
+	 */
+	public IntersectionResult findIntersectingPairs()
+	{
+		return findIntersectingPairs(new IntersectionResult());
+	}
+
+	/**
+	 * Runs the sweep, collecting every crossing pair of line segments into a result which is cleared first, so that
+	 * its storage can be reused across sweeps.
+	 *
+	 * @return the result.
+	 */
+	public IntersectionResult findIntersectingPairs(IntersectionResult result)
+	{
+		result.clear();
+		findIntersections(result);
+
+		return result;
+	}
+
+	/**
+	 * Runs the sweep, emitting each point of intersection once to a sink, with the line segments through it, without
+	 * testing their pairs beyond the first crossing one.
+	 *
+	 * @param sink receives every point where line segments cross, from left to right.
+	 */
+	public void findIntersectionPoints(IntersectionPointSink sink)
+	{
+		sweep(null, sink, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Runs the sweep, collecting every point of intersection once.
+	 *
+	 * @return the points of intersection, from left to right.
+	 */
+	public List<Point> findIntersections()
+	{
+		ArrayList<Point> intersections = new ArrayList<>();
+		PointIndex points = new PointIndex();
+
+		// Points of intersection coinciding within POINT_EPSILON are kept once.
+		findIntersectionPoints((x, y, segments, count) ->
+		{
+			if (points.add(x, y) == intersections.size())
+			{
+				intersections.add(new Point(x, y));
+			}
+		});
+
+		return intersections;
+	}
+
+	/**
+	 * Runs the sweep, emitting each crossing to a sink as soon as it is found, without accumulating them.
+	 *
+	 * @param sink receives every crossing pair of line segments, with their point of intersection.
+	 */
+	public void findIntersections(IntersectionSink sink)
+	{
+		findIntersections(sink, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Runs the sweep up to a vertical line, emitting the crossings strictly to the left of it, as a slab of a
+	 * partitioned sweep needs. The sweep stops as soon as the next event point lies on or past the line, exactly.
+	 *
+	 * @param sink  receives every crossing pair of line segments left of the line, with their point of intersection.
+	 * @param limit x-coordinate of the line.
+	 */
+	void findIntersections(IntersectionSink sink, double limit)
+	{
+		sweep(sink, null, limit);
+	}
+
+	public SegmentStore getSegmentStore()
+	{
+		return store;
+	}
+
+	public SweepListener getSweepListener()
+	{
+		return listener;
+	}
+
+	/**
+	 * Runs a Shamos-Hoey sweep, which only processes the endpoint events and stops at the first crossing it detects,
+	 * in O(n log n) time. This suits validating polygons and boundaries, which are expected to have no crossings.
+	 *
+	 * @return true if any two line segments cross.
+	 */
+	public boolean hasAnyIntersection()
+	{
+		return findCrossing(false, null);
+	}
+
+	public boolean isLayered()
+	{
+		return layered;
+	}
+
+	// Checks if the line segment of a node belongs to the run through the event point, where the line segments of
+	// the intersection event cross.
+	private boolean passesThrough(int p, int segment, int intersectionSegment)
+	{
+		return store.passesThrough(segmentOf(p), segment, intersectionSegment, eventCrossing);
+	}
+
+	// Checks if the event point of an event lies strictly left of a vertical line, exactly.
+	private boolean precedesLimit(Event e, double limit)
+	{
+		if (e.getEventType() != Event.Type.INTERSECTION)
+		{
+			return e.getX() < limit;
+		}
+
+		return store.compareCrossingX(e.getX(), e.getError(), e.getSegment(), e.getIntersectionSegment(), limit) < 0;
+	}
+
+	// Records the crossing of the line segments of two nodes in first and pair, if they cross before the crossing
+	// recorded there, or at all when no crossing has been recorded yet.
+	private void recordCrossing(int p, int q, double[] first, int[] pair)
+	{
+		if (p == -1 || q == -1 || !tracks(p, q) || !store.intersection(segmentOf(p), segmentOf(q), crossing))
+		{
+			return;
+		}
+
+		if (pair[0] >= 0 && store.compareEventPoints(crossing[0], crossing[1], crossing[2], segmentOf(p),
+				segmentOf(q), first[0], first[1], first[2], pair[0], pair[1]) >= 0)
+		{
+			return;
+		}
+
+		first[0] = crossing[0];
+		first[1] = crossing[1];
+		first[2] = crossing[2];
+		pair[0] = segmentOf(p);
+		pair[1] = segmentOf(q);
+	}
+
+	// Reports the crossing pairs of the count line segments of the run through a point to a pair sink, leaving out
+	// collinear ones which overlap, those only sharing an endpoint within POINT_EPSILON, and pairs in the same layer in
+	// layered mode. To a point sink, the point is reported with its run as soon as one pair crosses.
+	private void report(double x, double y, int count, IntersectionSink sink, IntersectionPointSink pointSink)
+	{
+		for (int i = 0; i < count - 1; i++)
+		{
+			for (int j = i + 1; j < count; j++)
+			{
+				if (!crosses(run[i], run[j]))
+				{
+					continue;
+				} else if (sink == null)
+				{
+					pointSink.accept(x, y, run, count);
+
+					return;
+				}
+
+				sink.accept(x, y, run[i], run[j]);
+			}
+		}
+	}
+
+	/**
+	 * Rewinds the engine to the start of a sweep over its current line segments, e.g., to sweep them again after they
+	 * have been changed in the store, keeping the storage of the event queue and sweep line status.
+	 */
+	public void reset()
+	{
+		setSegments(store, 0);
+	}
+
+	// Schedules the intersection event of the line segments of two neighbouring nodes, if they cross. q may be -1 when
+	// the node p has no neighbour on that side.
+	private void schedule(int p, int q)
+	{
+		if (q != -1 && tracks(p, q) && store.crossing(segmentOf(p), segmentOf(q), crossing))
+		{
+			eq.addIntersection(crossing[0], crossing[1], crossing[2], segmentOf(p), segmentOf(q));
+		}
+	}
+
+	// Returns the id of the line segment held by a node of the sweep line status.
+	private int segmentOf(int p)
+	{
+		return sweepLine.getSegment(p);
+	}
+
+	/**
+	 * Switches layered mode, in which only the crossings between line segments of different layers are found and
+	 * each layer must be free of crossings of its own.
+	 */
+	public void setLayered(boolean layered)
+	{
+		this.layered = layered;
+	}
+
+	public void setSegments(List<LineSegment> segments)
+	{
+		setSegments(segments, 0);
+	}
+
+	/**
+	 * Replaces the line segments to be swept.
+	 * 
+	 * @param segments              the line segments to be swept.
+	 * @param expectedIntersections hint of the number of intersections, used to pre-size the event queue.
+	 */
+	public void setSegments(List<LineSegment> segments, int expectedIntersections)
+	{
+		setSegments(SegmentStore.of(segments), expectedIntersections);
+	}
+
+	/**
+	 * Replaces the line segments to be swept, refilling the event queue and sweep line status of any previous sweep
+	 * rather than allocating new ones.
+	 * 
+	 * @param store                 the line segments to be swept.
+	 * @param expectedIntersections hint of the number of intersections, used to pre-size the event queue.
+	 */
+	public void setSegments(SegmentStore store, int expectedIntersections)
+	{
+		this.store = store;
+
+		if (eq == null)
+		{
+			eq = new EventQueue(store, expectedIntersections);
+			sweepLine = new BinarySearchTree(store);
+		} else
+		{
+			eq.reset(store, expectedIntersections);
+			sweepLine.reset(store);
+		}
+	}
+
+	/**
+	 * Registers a listener to be notified of the progression of the sweep, or removes it when null is given.
+	 * 
+	 * @param listener the listener, or null for a headless sweep.
+	 */
+	public void setSweepListener(SweepListener listener)
+	{
+		this.listener = listener;
+	}
+
+	// Sorts ids from up to before to by their order just before a vertical line, as given by SegmentStore.compareAtX,
+	// merging through a buffer of the same length.
+	private void sortAtX(int[] ids, int[] buffer, int from, int to, double x)
+	{
+		if (to - from < 2)
+		{
+			return;
+		}
+
+		int middle = (from + to) >>> 1;
+
+		sortAtX(ids, buffer, from, middle, x);
+		sortAtX(ids, buffer, middle, to, x);
+		System.arraycopy(ids, from, buffer, from, to - from);
+
+		for (int i = from, j = middle, k = from; k < to; k++)
+		{
+			ids[k] = (j == to || (i < middle && store.compareAtX(buffer[i], buffer[j], x) <= 0)) ? buffer[i++]
+					: buffer[j++];
+		}
+	}
+
+	/**
+	 * Rewinds the engine to start its sweep at a vertical line, as a slab of a partitioned sweep needs, without
+	 * sweeping the line segments to the left of it. The sweep line status is seeded with the line segments crossing
+	 * the line, in their exact order just before it, along with the intersection events of those which are neighbours
+	 * there and cross on or past the line, and only the endpoint events on or past the line are queued.
+	 *
+	 * @param start x-coordinate of the line.
+	 */
+	void startAt(double start)
+	{
+		eq.reset(store, 0, start);
+		sweepLine.reset(store);
+
+		int[] ids = new int[store.size()];
+		int count = 0;
+
+		for (int s = 0; s < store.size(); s++)
+		{
+			if (store.getX1(s) < start && store.getX2(s) >= start
+					&& !Geometry.coincide(store.getX1(s), store.getY1(s), store.getX2(s), store.getY2(s)))
+			{
+				ids[count++] = s;
+			}
+		}
+
+		sortAtX(ids, new int[count], 0, count, start);
+
+		for (int i = 0; i < count; i++)
+		{
+			int current = sweepLine.addMax(ids[i]);
+			int below = sweepLine.getPredecessor(current);
+
+			// Neighbours which crossed before the line are in their order past that crossing.
+			if (below != -1 && tracks(current, below) && store.crossing(ids[i], ids[i - 1], crossing)
+					&& store.compareCrossingX(crossing[0], crossing[2], ids[i], ids[i - 1], start) >= 0)
+			{
+				eq.addIntersection(crossing[0], crossing[1], crossing[2], ids[i], ids[i - 1]);
+			}
+		}
+	}
+
+	// Runs the sweep up to a vertical line, emitting the crossing pairs to a pair sink, or else the points of
+	// intersection to a point sink.
+	private void sweep(IntersectionSink sink, IntersectionPointSink pointSink, double limit)
+	{
+		while (!eq.isEmpty() && (limit == Double.POSITIVE_INFINITY || precedesLimit(eq.min(next), limit)))
+		{
+			eq.removeMin(event);
+			double eventX = event.getX();
+			double eventY = event.getY();
+
+			if (event.getEventType() == Event.Type.LEFT)
+			{
+				int current = sweepLine.add(event.getSegment(), eventX, eventY);
+
+				// A line segment only crosses others past its left endpoint, so these are never behind the event point.
+				schedule(current, sweepLine.getSuccessor(current));
+				schedule(current, sweepLine.getPredecessor(current));
+
+				if (listener != null)
+				{
+					listener.segmentAdded(event.getSegment());
+				}
+			} else if (event.getEventType() == Event.Type.RIGHT)
+			{
+				int removed = sweepLine.getNode(event.getSegment());
+				int above = sweepLine.getSuccessor(removed);
+				int below = sweepLine.getPredecessor(removed);
+
+				sweepLine.removeNode(removed);
+
+				// The neighbours may cross right at the event point, intersection events there still being ahead as
+				// they come after the line segments ending there.
+				if (above != -1 && below != -1 && tracks(above, below)
+						&& store.crossing(segmentOf(above), segmentOf(below), crossing)
+						&& compareWithEvent(segmentOf(above), segmentOf(below)) >= 0)
+				{
+					eq.addIntersection(crossing[0], crossing[1], crossing[2], segmentOf(above), segmentOf(below));
+				}
+
+				if (listener != null)
+				{
+					listener.segmentRemoved(event.getSegment());
+				}
+			} else
+			{
+				int segment = event.getSegment();
+				int intersectionSegment = event.getIntersectionSegment();
+
+				// Every line segment through the event point is handled by this one event, so the other intersection
+				// events at exactly the same point, which all come next, are discarded.
+				while (!eq.isEmpty() && eq.minType() == Event.Type.INTERSECTION && compareWithEvent(eq.min(next)) == 0)
+				{
+					eq.removeMin(next);
+				}
+
+				// The crossing lies strictly inside both line segments, which are therefore in the sweep line status.
+				// The line segments through it are a contiguous run there, found by walking outwards from one of them.
+				eventCrossing[0] = eventX;
+				eventCrossing[1] = eventY;
+				eventCrossing[2] = event.getError();
+
+				int low = sweepLine.getNode(segment);
+				int high = low;
+
+				while (sweepLine.getPredecessor(low) != -1
+						&& passesThrough(sweepLine.getPredecessor(low), segment, intersectionSegment))
+				{
+					low = sweepLine.getPredecessor(low);
+				}
+
+				while (sweepLine.getSuccessor(high) != -1
+						&& passesThrough(sweepLine.getSuccessor(high), segment, intersectionSegment))
+				{
+					high = sweepLine.getSuccessor(high);
+				}
+
+				int count = 0;
+
+				for (int p = low; ; p = sweepLine.getSuccessor(p))
+				{
+					if (count == run.length)
+					{
+						run = Arrays.copyOf(run, count + (count >> 1));
+					}
+
+					run[count++] = segmentOf(p);
+
+					if (p == high)
+					{
+						break;
+					}
+				}
+
+				report(eventX, eventY, count, sink, pointSink);
+
+				if (listener != null)
+				{
+					listener.intersectionFound(new Point(eventX, eventY), segmentOf(low), segmentOf(high));
+				}
+
+				int bottom = sweepLine.getPredecessor(low);
+				int top = sweepLine.getSuccessor(high);
+
+				// Past the event point the order of the line segments through it is reversed. The new neighbours can
+				// only cross strictly past the event point, any crossing through it being part of the run.
+				sweepLine.reverse(low, high);
+
+				if (bottom != -1 && tracks(low, bottom) && store.crossing(segmentOf(low), segmentOf(bottom), crossing)
+						&& compareWithEvent(segmentOf(low), segmentOf(bottom)) > 0)
+				{
+					eq.addIntersection(crossing[0], crossing[1], crossing[2], segmentOf(low), segmentOf(bottom));
+				}
+
+				if (top != -1 && tracks(high, top) && store.crossing(segmentOf(high), segmentOf(top), crossing)
+						&& compareWithEvent(segmentOf(high), segmentOf(top)) > 0)
+				{
+					eq.addIntersection(crossing[0], crossing[1], crossing[2], segmentOf(high), segmentOf(top));
+				}
+			}
+		}
+	}
+
+	// Checks if the sweep keeps track of the crossings of the line segments of two nodes, which in layered mode are
+	// only those of line segments in different layers.
+	private boolean tracks(int p, int q)
+	{
+		return !layered || store.getLayer(segmentOf(p)) != store.getLayer(segmentOf(q));
+	}
+}
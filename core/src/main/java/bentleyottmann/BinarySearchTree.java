@@ -0,0 +1,887 @@
+package bentleyottmann;
+
+import java.util.Arrays;
+
+/**
+ * @author E. Aguilar
+ * @author A. Hernandez
+ *         <p>
+ *         This is a Binary Search Tree which is specialized for ordering line segments of a {@link SegmentStore},
+ *         referenced by id, and maintaining the sweep line status, the line segments are ordered based on whether they
+ *         are above or below each other. Successor and predecessor nodes which contain the line segments can be
+ *         retrieved in constant time. The tree keeps a handle to the node of each line segment it holds, so nodes can
+ *         be removed or swapped by reference without descending the tree.
+ *         </p>
+ *         <p>
+ *         The tree is kept balanced as a red-black tree, so its height never exceeds 2 log(n + 1) even when the line
+ *         segments arrive in sorted order. Rebalancing rotations do not change the inorder sequence of the nodes, thus
+ *         the successor and predecessor links are only updated on insertion and removal.
+ *         </p>
+ *         <p>
+ *         The nodes live in an arena of parallel primitive arrays and are referenced by their int index, -1 standing
+ *         for no node, so a node takes six ints and a boolean instead of an object with six references, and
+ *         descending the tree or walking the successor links touches contiguous memory. Removed nodes are chained into
+ *         a free list and recycled by later insertions, so a tree reused across sweeps through
+ *         {@link #reset(SegmentStore)} stops allocating once it has held as many nodes as it will hold at once. A node
+ *         must not be used after its line segment has been removed.
+ *         </p>
+ */
+public class BinarySearchTree
+{
+	private static final int MIN_CAPACITY = 16;
+
+	private int root = -1; // Root node of the bst, -1 when empty.
+	private SegmentStore store; // Line segments being ordered.
+	private int[] nodes; // Handles, node holding each line segment indexed by id, -1 when not in the tree.
+
+	// Arena of nodes, indexed by node.
+	private int[] segments; // Id of the line segment held by each node.
+	private int[] parents;
+	private int[] lefts;
+	private int[] rights;
+	private int[] predecessors; // Inorder predecessor of each node.
+	private int[] successors; // Inorder successor of each node, or next node in the free list.
+	private boolean[] reds; // Color of each node within the red-black tree, black when false.
+	private int nodeCount; // number of nodes ever allocated
+	private int freeNode = -1; // First node of the free list.
+
+	public BinarySearchTree(SegmentStore store)
+	{
+		this.store = store;
+		nodes = new int[store.size()];
+		Arrays.fill(nodes, -1);
+
+		// The sweep line status usually holds far fewer line segments than the store, so the arena starts small.
+		segments = new int[MIN_CAPACITY];
+		parents = new int[MIN_CAPACITY];
+		lefts = new int[MIN_CAPACITY];
+		rights = new int[MIN_CAPACITY];
+		predecessors = new int[MIN_CAPACITY];
+		successors = new int[MIN_CAPACITY];
+		reds = new boolean[MIN_CAPACITY];
+	}
+
+	public int add(int s, double eventX, double eventY)
+	{
+		if (root == -1)
+		{
+			int first = newNode(s, -1);
+			reds[first] = false;
+			root = first;
+			setHandle(s, first);
+
+			return first;
+		} else
+		{
+			int inserted = insert(s, eventX, eventY, root);
+			insertFixup(inserted);
+			setHandle(s, inserted);
+
+			return inserted;
+		}
+	}
+
+	/**
+	 * Adds a line segment above every line segment in the tree without comparing it to them, e.g., to fill the tree
+	 * from line segments already in order.
+	 *
+	 * @return the node of the line segment.
+	 */
+	public int addMax(int s)
+	{
+		int max = getMaxNode();
+		int added = newNode(s, max);
+
+		if (max == -1)
+		{
+			root = added;
+		} else
+		{
+			reds[added] = true;
+			rights[max] = added;
+			predecessors[added] = max;
+			successors[max] = added;
+		}
+
+		insertFixup(added);
+		setHandle(s, added);
+
+		return added;
+	}
+
+	/**
+	 * Removes every node, keeping the arena for reuse by later insertions.
+	 */
+	public void clear()
+	{
+		for (int p = getMinNode(); p != -1; p = successors[p])
+		{
+			nodes[segments[p]] = -1;
+		}
+
+		root = -1;
+		nodeCount = 0;
+		freeNode = -1;
+	}
+
+	public boolean contains(int s, double eventX, double eventY)
+	{
+		return findNode(s, eventX, eventY) != -1;
+	}
+
+	public void display()
+	{
+		preorderDisplay(root);
+		System.out.println();
+		inorderDisplay(root);
+		System.out.println();
+		postorderDisplay(root);
+		System.out.println();
+	}
+
+	private int findInorderPredecessorOf(int p)
+	{
+		if (lefts[p] != -1)
+		{
+			// If left subtree exists, then predecessor is its maximum node.
+			return findMaxNodeFrom(lefts[p]);
+		} else
+		{
+			// If left subtree does not exist, then predecessor is found in ancestor node, unless this node is the min.
+			// Climb up ancestors using parent link, until you find a node whose parent's left child is not equal to
+			// it, that parent is the predecessor.
+			int child = p;
+			int parent = parents[child];
+
+			while (parent != -1 && child == lefts[parent])
+			{
+				child = parent;
+				parent = parents[parent];
+			}
+
+			return parent;
+		}
+	}
+
+	private int findInorderSuccessorOf(int p)
+	{
+		if (rights[p] != -1)
+		{
+			// If right subtree exists, then successor is its minimum node.
+			return findMinNodeFrom(rights[p]);
+		} else
+		{
+			// If right subtree does not exist, then successor is found in ancestor node, unless this node is the max.
+			// Climb up ancestors using parent link, until you find a node whose parent's right child is not equal to
+			// it, that parent is the successor.
+			int child = p;
+			int parent = parents[child];
+
+			while (parent != -1 && child == rights[parent])
+			{
+				child = parent;
+				parent = parents[parent];
+			}
+
+			return parent;
+		}
+	}
+
+	private int findMaxNodeFrom(int p)
+	{
+		int current = p;
+
+		while (rights[current] != -1)
+		{
+			current = rights[current];
+		}
+
+		return current;
+	}
+
+	private int findMinNodeFrom(int p)
+	{
+		int current = p;
+
+		while (lefts[current] != -1)
+		{
+			current = lefts[current];
+		}
+
+		return current;
+	}
+
+	/**
+	 * Finds the node holding a line segment, descending iteratively and comparing against each visited node once.
+	 *
+	 * @param s          the line segment to look for.
+	 * @param eventX     the x-coordinate of the current event point of the sweep line.
+	 * @param eventY     the y-coordinate of the current event point of the sweep line.
+	 * @return the node holding the line segment, or -1 if it is not in the tree.
+	 */
+	public int findNode(int s, double eventX, double eventY)
+	{
+		int p = root;
+
+		while (p != -1)
+		{
+			int comparison = store.compare(s, segments[p], eventX, eventY);
+
+			if (comparison == 0)
+			{
+				return p;
+			}
+
+			p = (comparison == -1) ? lefts[p] : rights[p];
+		}
+
+		return -1;
+	}
+
+	public int getCount()
+	{
+		return getCount(root);
+	}
+
+	private int getCount(int p)
+	{
+		if (p != -1)
+		{
+			return 1 + getCount(lefts[p]) + getCount(rights[p]);
+		} else
+		{
+			return 0;
+		}
+	}
+
+	public int getCountOf(int s, double eventX, double eventY)
+	{
+		int count = 0;
+		int p = root;
+
+		while (p != -1)
+		{
+			int comparison = store.compare(s, segments[p], eventX, eventY);
+
+			if (comparison == 0)
+			{
+				count++;
+			}
+
+			p = (comparison == -1) ? lefts[p] : rights[p];
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the height of the tree, i.e., the number of edges on the longest path from the root to a leaf, or -1 if
+	 * the tree is empty. Being a red-black tree, the height is at most 2 log(n + 1).
+	 *
+	 * @return the height of the tree.
+	 */
+	public int getHeight()
+	{
+		return getHeight(root);
+	}
+
+	private int getHeight(int p)
+	{
+		if (p != -1)
+		{
+			return 1 + Math.max(getHeight(lefts[p]), getHeight(rights[p]));
+		} else
+		{
+			return -1;
+		}
+	}
+
+	public int getMax()
+	{
+		return segments[getMaxNode()];
+	}
+
+	/**
+	 * Returns the node holding the highest line segment, or -1 if the tree is empty.
+	 */
+	public int getMaxNode()
+	{
+		return (root != -1) ? findMaxNodeFrom(root) : -1;
+	}
+
+	public int getMin()
+	{
+		return segments[getMinNode()];
+	}
+
+	/**
+	 * Returns the node holding the lowest line segment, or -1 if the tree is empty.
+	 */
+	public int getMinNode()
+	{
+		return (root != -1) ? findMinNodeFrom(root) : -1;
+	}
+
+	/**
+	 * Returns the handle of a line segment, i.e., the node holding it, in constant time.
+	 *
+	 * @param s id of the line segment.
+	 * @return the node holding the line segment, or -1 if it is not in the tree.
+	 */
+	public int getNode(int s)
+	{
+		return (s < nodes.length) ? nodes[s] : -1;
+	}
+
+	/**
+	 * Returns the node holding the line segment right below that of a node, or -1 if there is none.
+	 */
+	public int getPredecessor(int p)
+	{
+		return predecessors[p];
+	}
+
+	/**
+	 * Returns the id of the line segment held by a node.
+	 */
+	public int getSegment(int p)
+	{
+		return segments[p];
+	}
+
+	/**
+	 * Returns the node holding the line segment right above that of a node, or -1 if there is none.
+	 */
+	public int getSuccessor(int p)
+	{
+		return successors[p];
+	}
+
+	// Grows the arena by half of its size.
+	private void grow()
+	{
+		int capacity = segments.length + (segments.length >> 1);
+
+		segments = Arrays.copyOf(segments, capacity);
+		parents = Arrays.copyOf(parents, capacity);
+		lefts = Arrays.copyOf(lefts, capacity);
+		rights = Arrays.copyOf(rights, capacity);
+		predecessors = Arrays.copyOf(predecessors, capacity);
+		successors = Arrays.copyOf(successors, capacity);
+		reds = Arrays.copyOf(reds, capacity);
+	}
+
+	private void inorderDisplay(int p)
+	{
+		if (p != -1)
+		{
+			inorderDisplay(lefts[p]);
+			System.out.print(store.toString(segments[p]) + " ");
+			inorderDisplay(rights[p]);
+		}
+	}
+
+	public void inorderPredecessorSuccessorDisplay(boolean reversed)
+	{
+		if (!this.isEmpty())
+		{
+			if (!reversed)
+			{
+				int current = getMinNode();
+
+				while (current != -1)
+				{
+					System.out.println(store.toString(segments[current]));
+					current = successors[current];
+				}
+			} else
+			{
+				int current = getMaxNode();
+
+				while (current != -1)
+				{
+					System.out.println(store.toString(segments[current]));
+					current = predecessors[current];
+				}
+			}
+		}
+	}
+
+	private int insert(int s, double eventX, double eventY, int p)
+	{
+		int parent;
+		boolean left;
+
+		// Descend iteratively, if < current node go left, if >= current node go right.
+		do
+		{
+			parent = p;
+			left = store.compare(s, segments[p], eventX, eventY) == -1;
+			p = left ? lefts[p] : rights[p];
+		} while (p != -1);
+
+		int newChild = newNode(s, parent);
+		reds[newChild] = true;
+
+		if (left)
+		{
+			lefts[parent] = newChild;
+		} else
+		{
+			rights[parent] = newChild;
+		}
+
+		int predecessor = findInorderPredecessorOf(newChild);
+		int successor = findInorderSuccessorOf(newChild);
+		predecessors[newChild] = predecessor;
+		successors[newChild] = successor;
+
+		// Update successors and predecessors after insertion of new node.
+		if (predecessor != -1)
+		{
+			successors[predecessor] = newChild;
+		}
+
+		if (successor != -1)
+		{
+			predecessors[successor] = newChild;
+		}
+
+		return newChild;
+	}
+
+	/**
+	 * Restores the red-black properties after a red node has been inserted, by recoloring and rotating towards the
+	 * root.
+	 *
+	 * @param z the inserted node.
+	 */
+	private void insertFixup(int z)
+	{
+		while (isRed(parents[z]))
+		{
+			int parent = parents[z];
+			int grandparent = parents[parent]; // A red parent is never the root, so the grandparent exists.
+
+			if (parent == lefts[grandparent])
+			{
+				int uncle = rights[grandparent];
+
+				if (isRed(uncle))
+				{
+					reds[parent] = false;
+					reds[uncle] = false;
+					reds[grandparent] = true;
+					z = grandparent;
+				} else
+				{
+					if (z == rights[parent])
+					{
+						z = parent;
+						rotateLeft(z);
+						parent = parents[z];
+					}
+
+					reds[parent] = false;
+					reds[grandparent] = true;
+					rotateRight(grandparent);
+				}
+			} else
+			{
+				int uncle = lefts[grandparent];
+
+				if (isRed(uncle))
+				{
+					reds[parent] = false;
+					reds[uncle] = false;
+					reds[grandparent] = true;
+					z = grandparent;
+				} else
+				{
+					if (z == lefts[parent])
+					{
+						z = parent;
+						rotateRight(z);
+						parent = parents[z];
+					}
+
+					reds[parent] = false;
+					reds[grandparent] = true;
+					rotateLeft(grandparent);
+				}
+			}
+		}
+
+		reds[root] = false;
+	}
+
+	public boolean isEmpty()
+	{
+		return root == -1;
+	}
+
+	private boolean isRed(int p)
+	{
+		return p != -1 && reds[p];
+	}
+
+	// Takes a node from the free list, or else from the end of the arena, holding s under parent with no other links.
+	private int newNode(int s, int parent)
+	{
+		int p;
+
+		if (freeNode != -1)
+		{
+			p = freeNode;
+			freeNode = successors[p];
+		} else
+		{
+			if (nodeCount == segments.length)
+			{
+				grow();
+			}
+
+			p = nodeCount++;
+		}
+
+		segments[p] = s;
+		parents[p] = parent;
+		lefts[p] = rights[p] = -1;
+		predecessors[p] = successors[p] = -1;
+
+		return p;
+	}
+
+	private void postorderDisplay(int p)
+	{
+		if (p != -1)
+		{
+			postorderDisplay(lefts[p]);
+			postorderDisplay(rights[p]);
+			System.out.print(store.toString(segments[p]) + " ");
+		}
+	}
+
+	private void preorderDisplay(int p)
+	{
+		if (p != -1)
+		{
+			System.out.print(store.toString(segments[p]) + " ");
+			preorderDisplay(lefts[p]);
+			preorderDisplay(rights[p]);
+		}
+	}
+
+	public void remove(int s, double eventX, double eventY)
+	{
+		int p = findNode(s, eventX, eventY);
+
+		if (p != -1)
+		{
+			removeNode(p);
+		}
+	}
+
+	/**
+	 * Restores the red-black properties after a black node has been removed, where x carries the extra black.
+	 *
+	 * @param x       node which took the place of the removed node, possibly -1.
+	 * @param xParent parent of x.
+	 */
+	private void removeFixup(int x, int xParent)
+	{
+		while (x != root && !isRed(x))
+		{
+			if (x == lefts[xParent])
+			{
+				int sibling = rights[xParent];
+
+				if (isRed(sibling))
+				{
+					reds[sibling] = false;
+					reds[xParent] = true;
+					rotateLeft(xParent);
+					sibling = rights[xParent];
+				}
+
+				if (!isRed(lefts[sibling]) && !isRed(rights[sibling]))
+				{
+					reds[sibling] = true;
+					x = xParent;
+					xParent = parents[x];
+				} else
+				{
+					if (!isRed(rights[sibling]))
+					{
+						reds[lefts[sibling]] = false;
+						reds[sibling] = true;
+						rotateRight(sibling);
+						sibling = rights[xParent];
+					}
+
+					reds[sibling] = reds[xParent];
+					reds[xParent] = false;
+					reds[rights[sibling]] = false;
+					rotateLeft(xParent);
+					x = root;
+				}
+			} else
+			{
+				int sibling = lefts[xParent];
+
+				if (isRed(sibling))
+				{
+					reds[sibling] = false;
+					reds[xParent] = true;
+					rotateRight(xParent);
+					sibling = lefts[xParent];
+				}
+
+				if (!isRed(lefts[sibling]) && !isRed(rights[sibling]))
+				{
+					reds[sibling] = true;
+					x = xParent;
+					xParent = parents[x];
+				} else
+				{
+					if (!isRed(lefts[sibling]))
+					{
+						reds[rights[sibling]] = false;
+						reds[sibling] = true;
+						rotateLeft(sibling);
+						sibling = lefts[xParent];
+					}
+
+					reds[sibling] = reds[xParent];
+					reds[xParent] = false;
+					reds[lefts[sibling]] = false;
+					rotateRight(xParent);
+					x = root;
+				}
+			}
+		}
+
+		if (x != -1)
+		{
+			reds[x] = false;
+		}
+	}
+
+	/**
+	 * Removes a node by reference, without any comparisons between line segments, and puts it on the free list.
+	 *
+	 * @param p a node of this tree, such as the handle returned by {@link #getNode(int)}.
+	 */
+	public void removeNode(int p)
+	{
+		nodes[segments[p]] = -1;
+		unlink(p);
+
+		successors[p] = freeNode;
+		freeNode = p;
+	}
+
+	/**
+	 * Replaces the child link of parent which points to oldChild with newChild, where a parent of -1 stands for the
+	 * root of the tree.
+	 */
+	private void replaceChild(int parent, int oldChild, int newChild)
+	{
+		if (parent == -1)
+		{
+			root = newChild;
+		} else if (lefts[parent] == oldChild)
+		{
+			lefts[parent] = newChild;
+		} else
+		{
+			rights[parent] = newChild;
+		}
+	}
+
+	/**
+	 * Empties the tree and makes it order the line segments of another store, keeping the arena for reuse.
+	 *
+	 * @param store the line segments to be ordered from now on.
+	 */
+	public void reset(SegmentStore store)
+	{
+		clear();
+		this.store = store;
+	}
+
+	/**
+	 * Reverses the order of the line segments held by a contiguous run of nodes in a single pass, e.g., the run of line
+	 * segments which all cross at the same point, updating their handles.
+	 *
+	 * @param low  the lowest node of the run.
+	 * @param high the highest node of the run.
+	 */
+	public void reverse(int low, int high)
+	{
+		// Swapping from both ends of the run inwards until they meet.
+		while (low != high && predecessors[low] != high)
+		{
+			swap(low, high);
+			low = successors[low];
+			high = predecessors[high];
+		}
+	}
+
+	private void rotateLeft(int p)
+	{
+		int q = rights[p];
+
+		rights[p] = lefts[q];
+
+		if (lefts[q] != -1)
+		{
+			parents[lefts[q]] = p;
+		}
+
+		parents[q] = parents[p];
+		replaceChild(parents[p], p, q);
+		lefts[q] = p;
+		parents[p] = q;
+	}
+
+	private void rotateRight(int p)
+	{
+		int q = lefts[p];
+
+		lefts[p] = rights[q];
+
+		if (rights[q] != -1)
+		{
+			parents[rights[q]] = p;
+		}
+
+		parents[q] = parents[p];
+		replaceChild(parents[p], p, q);
+		rights[q] = p;
+		parents[p] = q;
+	}
+
+	private void setHandle(int s, int p)
+	{
+		if (s >= nodes.length)
+		{
+			int length = nodes.length;
+			nodes = Arrays.copyOf(nodes, Math.max(s + 1, store.size()));
+			Arrays.fill(nodes, length, nodes.length, -1);
+		}
+
+		nodes[s] = p;
+	}
+
+	/**
+	 * Swaps the line segments held by two nodes, e.g., two neighbouring nodes whose line segments cross, updating the
+	 * handles of both line segments.
+	 *
+	 * @param p a node of this tree.
+	 * @param q another node of this tree.
+	 */
+	public void swap(int p, int q)
+	{
+		int temp = segments[p];
+
+		// Swapping p with q.
+		segments[p] = segments[q];
+		nodes[segments[p]] = p;
+
+		// Swapping q with p.
+		segments[q] = temp;
+		nodes[segments[q]] = q;
+	}
+
+	public String toString()
+	{
+		return toString(root);
+	}
+
+	private String toString(int p)
+	{
+		if (p != -1)
+		{
+			return toString(lefts[p]) + store.toString(segments[p]) + "\n" + toString(rights[p]);
+		} else
+		{
+			return "";
+		}
+	}
+
+	/**
+	 * Replaces the subtree rooted at u with the subtree rooted at v.
+	 */
+	private void transplant(int u, int v)
+	{
+		replaceChild(parents[u], u, v);
+
+		if (v != -1)
+		{
+			parents[v] = parents[u];
+		}
+	}
+
+	/**
+	 * Unlinks a node from the tree, splicing the node itself out rather than copying the contents of its successor
+	 * into it, so any other node held by the caller stays valid.
+	 *
+	 * @param z the node to be removed.
+	 */
+	private void unlink(int z)
+	{
+		// Update successors and predecessors before deletion of node.
+		if (predecessors[z] != -1)
+		{
+			successors[predecessors[z]] = successors[z];
+		}
+
+		if (successors[z] != -1)
+		{
+			predecessors[successors[z]] = predecessors[z];
+		}
+
+		int x; // Node which moves into the removed position, possibly -1.
+		int xParent; // Parent of x, tracked separately since x may be -1.
+		boolean removedRed = reds[z];
+
+		if (lefts[z] == -1)
+		{
+			x = rights[z];
+			xParent = parents[z];
+			transplant(z, x);
+		} else if (rights[z] == -1)
+		{
+			x = lefts[z];
+			xParent = parents[z];
+			transplant(z, x);
+		} else // If node has both children, its inorder successor takes its place.
+		{
+			int y = findMinNodeFrom(rights[z]);
+			removedRed = reds[y];
+			x = rights[y];
+
+			if (parents[y] == z)
+			{
+				xParent = y;
+			} else
+			{
+				xParent = parents[y];
+				transplant(y, x);
+				rights[y] = rights[z];
+				parents[rights[y]] = y;
+			}
+
+			transplant(z, y);
+			lefts[y] = lefts[z];
+			parents[lefts[y]] = y;
+			reds[y] = reds[z];
+		}
+
+		if (!removedRed)
+		{
+			removeFixup(x, xParent);
+		}
+	}
+}
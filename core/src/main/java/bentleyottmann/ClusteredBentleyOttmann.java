@@ -0,0 +1,385 @@
+package bentleyottmann;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Sweep which first splits the line segments into clusters that cannot cross each other, drops the isolated
+ *         line segments which cannot cross anything, and runs an independent {@link BentleyOttmann} sweep for each
+ *         cluster on the workers of a {@link ForkJoinPool}. On inputs made of mostly disjoint groups of line segments
+ *         this saves the events and sweep line status operations of the isolated line segments, and keeps the status
+ *         of each sweep down to the size of its cluster.
+ *         </p>
+ *         <p>
+ *         The pre-pass buckets the line segments into a uniform grid of about as many cells as line segments, each
+ *         line segment into the cells it passes through, widened by a small margin. Line segments sharing a cell are
+ *         joined in a union-find forest, so crossing line segments, which share the cell of their crossing, always end
+ *         up in the same cluster. Inputs with long line segments spanning many cells are not sparse, and are swept as
+ *         a single cluster.
+ *         </p>
+ *         <p>
+ *         The crossings of each cluster are reported together, from left to right within the cluster, under the ids
+ *         of the original store. In layered mode the sweep of each cluster is layered, see
+ *         {@link BentleyOttmann#setLayered(boolean)}.
+ *         </p>
+ */
+public class ClusteredBentleyOttmann
+{
+	private static final double CELL_MARGIN = 1000 * Globals.POINT_EPSILON; // Widening of line segments when bucketed.
+	private static final int MAX_CELLS_PER_SEGMENT = 16; // Average number of cells beyond which inputs are not sparse.
+	private static final int MIN_CAPACITY = 16;
+	private static final int TASKS_PER_WORKER = 4; // Batches of clusters per worker, to balance uneven clusters.
+
+	// Returns the row or column of the grid containing v, clamped to the grid.
+	private static int cellOf(double v, double min, double width, int side)
+	{
+		if (!(width > 0))
+		{
+			return 0;
+		}
+
+		return (int) Math.max(0, Math.min(side - 1, Math.floor((v - min) / width)));
+	}
+
+	// Returns the root of the set holding a in a union-find forest, halving the path to it along the way.
+	private static int find(int[] parent, int a)
+	{
+		while (parent[a] != a)
+		{
+			parent[a] = parent[parent[a]];
+			a = parent[a];
+		}
+
+		return a;
+	}
+
+	// Joins the sets holding a and b, the smaller set going under the root of the larger one.
+	private static void union(int[] parent, int[] size, int a, int b)
+	{
+		a = find(parent, a);
+		b = find(parent, b);
+
+		if (a == b)
+		{
+			return;
+		}
+
+		if (size[a] < size[b])
+		{
+			int swap = a;
+			a = b;
+			b = swap;
+		}
+
+		parent[b] = a;
+		size[a] += size[b];
+	}
+
+	private SegmentStore store;
+	private ForkJoinPool pool;
+	private boolean layered; // Whether the sweeps of the clusters are layered.
+
+	public ClusteredBentleyOttmann(List<LineSegment> segments)
+	{
+		this(SegmentStore.of(segments));
+	}
+
+	/**
+	 * Creates a sweep running on the common pool.
+	 */
+	public ClusteredBentleyOttmann(SegmentStore store)
+	{
+		this(store, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param store the line segments to be swept, ids of the line segments are used in the reported crossings.
+	 * @param pool  the pool running the sweeps of the clusters.
+	 */
+	public ClusteredBentleyOttmann(SegmentStore store, ForkJoinPool pool)
+	{
+		this.store = store;
+		this.pool = pool;
+	}
+
+	/**
+	 * Splits the line segments into clusters, line segments of different clusters being too far apart to cross.
+	 *
+	 * @return the cluster of each line segment, numbered from 0 in order of their first line segments, or -1 for
+	 *         isolated line segments, which cannot cross any other line segment.
+	 */
+	public int[] findClusters()
+	{
+		int segmentCount = store.size();
+		int[] clusters = new int[segmentCount];
+		double minX = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			minX = Math.min(minX, store.getX1(s));
+			maxX = Math.max(maxX, store.getX2(s));
+			minY = Math.min(minY, Math.min(store.getY1(s), store.getY2(s)));
+			maxY = Math.max(maxY, Math.max(store.getY1(s), store.getY2(s)));
+		}
+
+		int side = (int) Math.ceil(Math.sqrt(segmentCount));
+		double width = (maxX - minX) / side;
+		double height = (maxY - minY) / side;
+		long budget = (long) MAX_CELLS_PER_SEGMENT * segmentCount;
+		long[] keys = new long[Math.max(2 * segmentCount, MIN_CAPACITY)]; // Cell and line segment, keyed by cell.
+		int count = 0;
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			double x1 = store.getX1(s);
+			double y1 = store.getY1(s);
+			double x2 = store.getX2(s);
+			double y2 = store.getY2(s);
+			int toColumn = cellOf(x2 + CELL_MARGIN, minX, width, side);
+
+			for (int c = cellOf(x1 - CELL_MARGIN, minX, width, side); c <= toColumn; c++)
+			{
+				// Range of y of the line segment across the column.
+				double low = Math.max(x1, Math.min(x2, minX + c * width));
+				double high = Math.max(x1, Math.min(x2, minX + (c + 1) * width));
+				double yLow = (x1 == x2) ? y1 : y1 + (y2 - y1) * ((low - x1) / (x2 - x1));
+				double yHigh = (x1 == x2) ? y2 : y1 + (y2 - y1) * ((high - x1) / (x2 - x1));
+				int toRow = cellOf(Math.max(yLow, yHigh) + CELL_MARGIN, minY, height, side);
+
+				for (int r = cellOf(Math.min(yLow, yHigh) - CELL_MARGIN, minY, height, side); r <= toRow; r++)
+				{
+					// Too many cells, the line segments are long and likely to be connected anyway.
+					if (count == budget)
+					{
+						Arrays.fill(clusters, 0);
+
+						return clusters;
+					}
+
+					if (count == keys.length)
+					{
+						keys = Arrays.copyOf(keys, (int) Math.min(budget, keys.length + (keys.length >> 1)));
+					}
+
+					keys[count++] = ((long) (c * side + r) << 32) | s;
+				}
+			}
+		}
+
+		Arrays.sort(keys, 0, count);
+
+		int[] parent = new int[segmentCount];
+		int[] size = new int[segmentCount];
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			parent[s] = s;
+			size[s] = 1;
+		}
+
+		for (int i = 1; i < count; i++)
+		{
+			if (keys[i] >>> 32 == keys[i - 1] >>> 32)
+			{
+				union(parent, size, (int) keys[i - 1], (int) keys[i]);
+			}
+		}
+
+		// Numbering the clusters in order of their first line segments, through the roots of their sets.
+		int clusterCount = 0;
+		int[] clusterOf = new int[segmentCount];
+		Arrays.fill(clusterOf, -1);
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			int root = find(parent, s);
+
+			if (size[root] == 1)
+			{
+				clusters[s] = -1;
+			} else
+			{
+				if (clusterOf[root] < 0)
+				{
+					clusterOf[root] = clusterCount++;
+				}
+
+				clusters[s] = clusterOf[root];
+			}
+		}
+
+		return clusters;
+	}
+
+	/**
+	 * Runs the sweeps of all clusters, collecting every crossing pair of line segments along with its point of
+	 * intersection.
+	 *
+	 * @return the crossings, cluster by cluster.
+	 */
+	public IntersectionResult findIntersectingPairs()
+	{
+		int[] clusters = findClusters();
+		int segmentCount = store.size();
+		int clusterCount = 0;
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			clusterCount = Math.max(clusterCount, clusters[s] + 1);
+		}
+
+		// Line segments of each cluster, cluster i holding those from starts[i] up to starts[i + 1] in clusterSegments.
+		int[] starts = new int[clusterCount + 1];
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			if (clusters[s] >= 0)
+			{
+				starts[clusters[s] + 1]++;
+			}
+		}
+
+		for (int i = 0; i < clusterCount; i++)
+		{
+			starts[i + 1] += starts[i];
+		}
+
+		int[] fill = Arrays.copyOf(starts, clusterCount);
+		int[] clusterSegments = new int[starts[clusterCount]];
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			if (clusters[s] >= 0)
+			{
+				clusterSegments[fill[clusters[s]]++] = s;
+			}
+		}
+
+		// Consecutive clusters are batched into tasks holding about the same number of line segments.
+		long batchSize = Math.max(1, clusterSegments.length / ((long) TASKS_PER_WORKER * pool.getParallelism()));
+		ArrayList<ForkJoinTask<IntersectionResult>> tasks = new ArrayList<>();
+
+		for (int from = 0; from < clusterCount;)
+		{
+			int first = from++;
+
+			while (from < clusterCount && starts[from] - starts[first] < batchSize)
+			{
+				from++;
+			}
+
+			int last = from;
+
+			tasks.add(pool.submit(() -> sweepClusters(clusterSegments, starts, first, last)));
+		}
+
+		IntersectionResult result = new IntersectionResult();
+
+		for (ForkJoinTask<IntersectionResult> task : tasks)
+		{
+			IntersectionResult batchResult = task.join();
+
+			for (int i = 0; i < batchResult.size(); i++)
+			{
+				result.accept(batchResult.getX(i), batchResult.getY(i), batchResult.getSegment(i),
+						batchResult.getIntersectionSegment(i));
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Runs the sweeps of all clusters, collecting every point of intersection once.
+	 *
+	 * @return the points of intersection, cluster by cluster.
+	 */
+	public List<Point> findIntersections()
+	{
+		IntersectionResult result = findIntersectingPairs();
+		ArrayList<Point> intersections = new ArrayList<>(result.getPointCount());
+
+		for (int i = 0; i < result.getPointCount(); i++)
+		{
+			intersections.add(new Point(result.getPointX(i), result.getPointY(i)));
+		}
+
+		return intersections;
+	}
+
+	/**
+	 * Runs the sweeps of all clusters, then emits every crossing to a sink from the calling thread, so the sink does
+	 * not need to be thread-safe.
+	 *
+	 * @param sink receives every crossing pair of line segments, with their point of intersection.
+	 */
+	public void findIntersections(IntersectionSink sink)
+	{
+		IntersectionResult result = findIntersectingPairs();
+
+		for (int i = 0; i < result.size(); i++)
+		{
+			sink.accept(result.getX(i), result.getY(i), result.getSegment(i), result.getIntersectionSegment(i));
+		}
+	}
+
+	public SegmentStore getSegmentStore()
+	{
+		return store;
+	}
+
+	public boolean isLayered()
+	{
+		return layered;
+	}
+
+	/**
+	 * Switches layered mode, in which only the crossings between line segments of different layers are found, each
+	 * layer being free of crossings of its own.
+	 */
+	public void setLayered(boolean layered)
+	{
+		this.layered = layered;
+	}
+
+	/**
+	 * Sweeps the clusters from first up to before last one at a time, keeping the crossings under the ids of the
+	 * original store. A single store and sweep are refilled for every cluster of the batch.
+	 */
+	private IntersectionResult sweepClusters(int[] clusterSegments, int[] starts, int first, int last)
+	{
+		IntersectionResult result = new IntersectionResult();
+		// An empty copy, so that the clusters are swept with the predicates of the original store.
+		SegmentStore clusterStore = store.copyOf(new int[0]);
+		BentleyOttmann sweep = new BentleyOttmann(clusterStore);
+
+		sweep.setLayered(layered);
+
+		for (int i = first; i < last; i++)
+		{
+			int start = starts[i];
+
+			clusterStore.clear();
+
+			for (int j = start; j < starts[i + 1]; j++)
+			{
+				clusterStore.add(store, clusterSegments[j]);
+			}
+
+			// The ids of the cluster store are offsets into the run of the cluster in clusterSegments.
+			sweep.setSegments(clusterStore, 0);
+			sweep.findIntersections((x, y, segment, intersectionSegment) -> result.accept(x, y,
+					clusterSegments[start + segment], clusterSegments[start + intersectionSegment]));
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,42 @@
+package bentleyottmann;
+
+import java.awt.Graphics;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Visualization of a {@link Point}, carrying the colors it is drawn with.
+ *         </p>
+ */
+public class DrawablePoint extends GeometricObject
+{
+	private Point point;
+
+	public DrawablePoint(Point point)
+	{
+		this.point = point;
+	}
+
+	@Override
+	public void draw(Graphics g)
+	{
+		int radius = 2;
+		int x = (int) point.getX();
+		int y = (int) point.getY();
+
+		g.setColor(getInteriorColor());
+		g.fillOval(x - radius, y - radius, 2 * radius, 2 * radius);
+		g.setColor(getBoundaryColor());
+		g.drawOval(x - radius, y - radius, 2 * radius, 2 * radius);
+	}
+
+	public Point getPoint()
+	{
+		return point;
+	}
+
+	public String toString()
+	{
+		return point.toString();
+	}
+}
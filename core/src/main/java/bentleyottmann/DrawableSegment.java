@@ -0,0 +1,57 @@
+package bentleyottmann;
+
+import java.awt.Graphics;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Visualization of a {@link LineSegment}, carrying the colors it is drawn with. The line segment is drawn by
+ *         its boundary along with its two endpoints.
+ *         </p>
+ */
+public class DrawableSegment extends GeometricObject
+{
+	private LineSegment segment;
+	private DrawablePoint p1;
+	private DrawablePoint p2;
+
+	public DrawableSegment(LineSegment segment)
+	{
+		this.segment = segment;
+		p1 = new DrawablePoint(segment.getP1());
+		p2 = new DrawablePoint(segment.getP2());
+	}
+
+	@Override
+	public void draw(Graphics g)
+	{
+		// line segment is drawn by using its boundary, not its interior
+		// (width of line=0)
+
+		g.setColor(getBoundaryColor());
+		g.drawLine((int) segment.getP1().getX(), (int) segment.getP1().getY(), (int) segment.getP2().getX(),
+				(int) segment.getP2().getY());
+		p1.draw(g);
+		p2.draw(g);
+	}
+
+	public DrawablePoint getP1()
+	{
+		return p1;
+	}
+
+	public DrawablePoint getP2()
+	{
+		return p2;
+	}
+
+	public LineSegment getSegment()
+	{
+		return segment;
+	}
+
+	public String toString()
+	{
+		return segment.toString();
+	}
+}
@@ -0,0 +1,141 @@
+package bentleyottmann;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         An event of the sweep, i.e., an event point along with the line segments, referenced by id, which it
+ *         concerns. The {@link EventQueue} stores events packed into primitive arrays, an Event object is only a view
+ *         of one, and can be reused to receive each event removed from the queue.
+ *         </p>
+ */
+public class Event
+{
+	public enum Type
+	{
+		LEFT, RIGHT, INTERSECTION
+	}
+
+	private double x; // x-coordinate of the event point.
+	private double y; // y-coordinate of the event point.
+	private double error; // Bound on the rounding error of both coordinates, 0 unless the event point is computed.
+	private int segment; // Id of the line segment within its SegmentStore.
+	private int intersectionSegment; // Typically -1 unless Event is of type intersection.
+
+	private Type eventType;
+
+	public Event()
+	{
+		this(0.0, 0.0, -1, -1, null);
+	}
+
+	public Event(double x, double y, int segment, int intersectionSegment, Type eventType)
+	{
+		this.x = x;
+		this.y = y;
+		this.segment = segment;
+		this.intersectionSegment = intersectionSegment;
+		this.eventType = eventType;
+	}
+
+	public Event(Point eventPoint, int segment, int intersectionSegment, Type eventType)
+	{
+		this(eventPoint.getX(), eventPoint.getY(), segment, intersectionSegment, eventType);
+	}
+
+	public Event(Point eventPoint, int segment, Type eventType)
+	{
+		this(eventPoint.getX(), eventPoint.getY(), segment, -1, eventType);
+	}
+
+	/**
+	 * Returns the bound on the rounding error of the coordinates of the event point, which is 0 for an endpoint and
+	 * for any event point given exactly.
+	 */
+	public double getError()
+	{
+		return error;
+	}
+
+	/**
+	 * Creates a new {@link Point} at the event point, prefer {@link #getX()} and {@link #getY()} in hot paths.
+	 */
+	public Point getEventPoint()
+	{
+		return new Point(x, y);
+	}
+
+	public Type getEventType()
+	{
+		return eventType;
+	}
+
+	public int getIntersectionSegment()
+	{
+		return intersectionSegment;
+	}
+
+	public int getSegment()
+	{
+		return segment;
+	}
+
+	public double getX()
+	{
+		return x;
+	}
+
+	public double getY()
+	{
+		return y;
+	}
+
+	/**
+	 * Sets every field of this event at once, the event point being exact.
+	 */
+	public void set(double x, double y, int segment, int intersectionSegment, Type eventType)
+	{
+		set(x, y, 0.0, segment, intersectionSegment, eventType);
+	}
+
+	/**
+	 * Sets every field of this event at once, as done by the {@link EventQueue} when reusing it.
+	 */
+	public void set(double x, double y, double error, int segment, int intersectionSegment, Type eventType)
+	{
+		this.x = x;
+		this.y = y;
+		this.error = error;
+		this.segment = segment;
+		this.intersectionSegment = intersectionSegment;
+		this.eventType = eventType;
+	}
+
+	public void setEventPoint(Point eventPoint)
+	{
+		this.x = eventPoint.getX();
+		this.y = eventPoint.getY();
+		this.error = 0.0;
+	}
+
+	public void setEventType(Type eventType)
+	{
+		this.eventType = eventType;
+	}
+
+	public void setIntersectionSegment(int intersectionSegment)
+	{
+		this.intersectionSegment = intersectionSegment;
+	}
+
+	public void setSegment(int segment)
+	{
+		this.segment = segment;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("Event: eventPoint: (%s, %s), segment: %s, intersectionSegment: %s, eventType: %s", x, y,
+				segment, intersectionSegment, eventType);
+	}
+}
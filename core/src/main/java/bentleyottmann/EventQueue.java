@@ -0,0 +1,633 @@
+package bentleyottmann;
+
+import java.util.Arrays;
+
+/**
+ * @author E. Aguilar
+ * @author A. Hernandez
+ *         <p>
+ *         An indexed binary min heap of events ordered from left to right by their event points. The events are packed
+ *         into parallel primitive arrays by heap slot, the x and y of the event point in double arrays and the type
+ *         and line segment ids in a long array, so sifting only touches contiguous memory and no objects are
+ *         allocated per event. {@link Event} objects are only used as views of the queued events.
+ *         </p>
+ *         <p>
+ *         Each queued event has a handle which stays valid until it is removed, so removing an event or decreasing
+ *         its key takes O(log n) time. The heap storage grows by half of its size whenever it is full, giving
+ *         amortized O(1) growth per added event. It is never shrunk, so a queue refilled through
+ *         {@link #reset(SegmentStore, int)} for each sweep stops allocating once it has grown large enough.
+ *         </p>
+ *         <p>
+ *         Pending intersection events are indexed by their pair of line segments, in a primitive {@link LongIntMap}, so
+ *         an intersection event can be scheduled idempotently in O(1) expected time, whenever the two line segments
+ *         become neighbours again, instead of being deleted each time they stop being neighbours.
+ *         </p>
+ *         <p>
+ *         The event point of an intersection event is an approximation of the crossing of its line segments, queued
+ *         with a bound on its rounding error. In a queue built over a {@link SegmentStore}, events whose event points
+ *         are too close to be ordered by their approximations are ordered by the exact crossings, so that the order of
+ *         the events is exact.
+ *         </p>
+ */
+public class EventQueue
+{
+	private static final int MIN_ARRAY_SIZE = 16;
+	private static final Event.Type[] TYPES = Event.Type.values();
+	private static final int[] RANKS = { 2, 0, 1 }; // Order of the event types, by ordinal, at a shared event point.
+
+	private static int intersectionSegmentOf(long data)
+	{
+		return (int) (data & 0x7FFFFFFFL) - 1;
+	}
+
+	/**
+	 * Packs the type and line segment ids of an event into a long, the type in the two highest bits, followed by 31
+	 * bits for the line segment and 31 bits for the intersection segment plus one, so that -1 is stored as 0.
+	 */
+	private static long pack(Event.Type type, int segment, int intersectionSegment)
+	{
+		return ((long) type.ordinal() << 62) | ((long) segment << 31) | (intersectionSegment + 1L);
+	}
+
+	/**
+	 * Returns the key of a pair of line segments, the same in either order.
+	 */
+	static long pairKey(int a, int b)
+	{
+		return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+	}
+
+	private static int segmentOf(long data)
+	{
+		return (int) ((data >>> 31) & 0x7FFFFFFFL);
+	}
+
+	private static Event.Type typeOf(long data)
+	{
+		return TYPES[(int) (data >>> 62)];
+	}
+
+	// Heap of events, indexed by slot starting at 1.
+	private double[] xs; // x-coordinates of the event points.
+	private double[] ys; // y-coordinates of the event points.
+	private double[] errors; // Bounds on the rounding errors of the event points, 0 when exact.
+	private long[] data; // Packed type and line segment ids.
+	private int[] handles; // Handle of the event at each slot.
+
+	private int arraySize; // size of the arrays
+	private int length; // current number of elements in the arrays
+
+	// Handles, indexed by handle.
+	private int[] slots; // Slot of each handle, 0 when it is not queued.
+	private int[] freeHandles; // Stack of released handles.
+	private int freeCount;
+	private int handleCount; // Number of handles ever given out.
+
+	private LongIntMap pairIndex; // Handle of the pending intersection event of each pair of line segments.
+	private SegmentStore store; // Line segments of the events, null if the events are only ordered by coordinates.
+
+	public EventQueue(Event[] events)
+	{
+		this(events, 0);
+	}
+
+	/**
+	 * Builds an event queue from the given events, with storage pre-sized to also hold a number of intersection
+	 * events without growing.
+	 *
+	 * @param events                array of Event objects, the events are copied.
+	 * @param expectedIntersections hint of the number of intersection events that will be pending at once.
+	 */
+	public EventQueue(Event[] events, int expectedIntersections)
+	{
+		this(events.length + Math.max(expectedIntersections, 0) + 1);
+
+		for (Event e : events)
+		{
+			append(e.getX(), e.getY(), e.getError(),
+					pack(e.getEventType(), e.getSegment(), e.getIntersectionSegment()));
+		}
+
+		buildHeap();
+	}
+
+	public EventQueue(int arraySize)
+	{
+		length = 0;
+		this.arraySize = Math.max(arraySize, MIN_ARRAY_SIZE);
+
+		xs = new double[this.arraySize];
+		ys = new double[this.arraySize];
+		errors = new double[this.arraySize];
+		data = new long[this.arraySize];
+		handles = new int[this.arraySize];
+
+		slots = new int[this.arraySize];
+		freeHandles = new int[this.arraySize];
+
+		pairIndex = new LongIntMap(-1);
+	}
+
+	/**
+	 * Builds an event queue holding the LEFT and RIGHT events of every line segment of a store, without creating any
+	 * Event objects. Line segments reduced to a point cross nothing, and are left out.
+	 *
+	 * @param store                 the line segments.
+	 * @param expectedIntersections hint of the number of intersection events that will be pending at once.
+	 */
+	public EventQueue(SegmentStore store, int expectedIntersections)
+	{
+		this(2 * store.size() + Math.max(expectedIntersections, 0) + 1);
+
+		addEndpoints(store, Double.NEGATIVE_INFINITY);
+	}
+
+	/**
+	 * Adds an event, its event point being exact.
+	 *
+	 * @return the handle of the event.
+	 */
+	public int add(double x, double y, Event.Type type, int segment, int intersectionSegment)
+	{
+		return add(x, y, 0.0, type, segment, intersectionSegment);
+	}
+
+	/**
+	 * Adds an event whose event point is rounded, within a bound on the error of both coordinates.
+	 *
+	 * @return the handle of the event.
+	 */
+	public int add(double x, double y, double error, Event.Type type, int segment, int intersectionSegment)
+	{
+		int h = append(x, y, error, pack(type, segment, intersectionSegment));
+		siftUp(length);
+
+		return h;
+	}
+
+	/**
+	 * Adds a copy of an event.
+	 *
+	 * @return the handle of the event.
+	 */
+	public int add(Event e)
+	{
+		return add(e.getX(), e.getY(), e.getError(), e.getEventType(), e.getSegment(), e.getIntersectionSegment());
+	}
+
+	/**
+	 * Appends the LEFT and RIGHT events on or past a vertical line of every line segment of a store, apart from those
+	 * reduced to a point, and builds the heap.
+	 */
+	private void addEndpoints(SegmentStore store, double start)
+	{
+		this.store = store;
+
+		for (int i = 0; i < store.size(); i++)
+		{
+			if (Geometry.coincide(store.getX1(i), store.getY1(i), store.getX2(i), store.getY2(i)))
+			{
+				continue;
+			}
+
+			if (store.getX1(i) >= start)
+			{
+				append(store.getX1(i), store.getY1(i), 0.0, pack(Event.Type.LEFT, i, -1));
+			}
+
+			if (store.getX2(i) >= start)
+			{
+				append(store.getX2(i), store.getY2(i), 0.0, pack(Event.Type.RIGHT, i, -1));
+			}
+		}
+
+		buildHeap();
+	}
+
+	/**
+	 * Schedules the intersection event of two line segments, unless one is already pending for the pair, so that
+	 * scheduling the same crossing again whenever the line segments become neighbours has no effect. The event point
+	 * is taken as exact.
+	 *
+	 * @return the handle of the pending intersection event of the pair.
+	 */
+	public int addIntersection(double x, double y, int segment, int intersectionSegment)
+	{
+		return addIntersection(x, y, 0.0, segment, intersectionSegment);
+	}
+
+	/**
+	 * Schedules the intersection event of two line segments, unless one is already pending for the pair, at their
+	 * crossing as approximated by {@link SegmentStore#intersection(int, int, double[])}.
+	 *
+	 * @param error bound on the rounding error of both coordinates of the crossing.
+	 * @return the handle of the pending intersection event of the pair.
+	 */
+	public int addIntersection(double x, double y, double error, int segment, int intersectionSegment)
+	{
+		int h = pairIndex.get(pairKey(segment, intersectionSegment));
+
+		return (h != -1) ? h : add(x, y, error, Event.Type.INTERSECTION, segment, intersectionSegment);
+	}
+
+	/**
+	 * Places an event in the next free slot, without restoring the heap order.
+	 */
+	private int append(double x, double y, double error, long d)
+	{
+		if (length + 1 == arraySize)
+		{
+			grow();
+		}
+
+		int h = newHandle();
+		int loc = ++length;
+
+		xs[loc] = x;
+		ys[loc] = y;
+		errors[loc] = error;
+		data[loc] = d;
+		handles[loc] = h;
+		slots[h] = loc;
+
+		if (typeOf(d) == Event.Type.INTERSECTION)
+		{
+			pairIndex.put(pairKey(segmentOf(d), intersectionSegmentOf(d)), h);
+		}
+
+		return h;
+	}
+
+	/**
+	 * Builds the heap (rearranges arrays) through Floyd's method, taking O(n) time overall for all event points.
+	 */
+	private void buildHeap()
+	{
+		// i starts at last non-leaf node, heapfiying by sift-down technique.
+		for (int i = length / 2; i > 0; i--)
+		{
+			siftDown(i);
+		}
+	}
+
+	/**
+	 * Removes every event, keeping the storage for reuse. Handles are then given out from 0 again.
+	 */
+	public void clear()
+	{
+		length = 0;
+		freeCount = 0;
+		handleCount = 0;
+		pairIndex.clear();
+	}
+
+	public boolean contains(int h)
+	{
+		return h >= 0 && h < handleCount && slots[h] != 0;
+	}
+
+	/**
+	 * Moves an event to an event point which precedes or equals its current one, restoring the heap order in O(log n)
+	 * time. The new event point is taken as exact.
+	 *
+	 * @param h handle of a queued event.
+	 * @param x the x-coordinate of the new event point.
+	 * @param y the y-coordinate of the new event point.
+	 */
+	public void decreaseKey(int h, double x, double y)
+	{
+		int i = slots[h];
+
+		xs[i] = x;
+		ys[i] = y;
+		errors[i] = 0.0;
+
+		siftUp(i);
+	}
+
+	/**
+	 * Finds the pending intersection event of two line segments, given in either order.
+	 *
+	 * @return the handle of the intersection event, or -1 if there is none.
+	 */
+	public int findIntersectionEvent(int segment, int intersectionSegment)
+	{
+		return pairIndex.get(pairKey(segment, intersectionSegment));
+	}
+
+	/**
+	 * Copies a queued event into an Event object.
+	 *
+	 * @param h      handle of a queued event.
+	 * @param target the Event object receiving the event.
+	 * @return the target.
+	 */
+	public Event get(int h, Event target)
+	{
+		int i = slots[h];
+		long d = data[i];
+		target.set(xs[i], ys[i], errors[i], segmentOf(d), intersectionSegmentOf(d), typeOf(d));
+
+		return target;
+	}
+
+	/**
+	 * Grows the storage of the heap, and of the handles, by half of its current size.
+	 */
+	private void grow()
+	{
+		resize(arraySize + (arraySize >> 1));
+	}
+
+	/**
+	 * Returns the number of queued events.
+	 */
+	public int size()
+	{
+		return length;
+	}
+
+	public boolean isEmpty()
+	{
+		return (length == 0) ? true : false;
+	}
+
+	/**
+	 * Returns a new Event object holding the minimum event, without removing it.
+	 */
+	public Event min()
+	{
+		return min(new Event());
+	}
+
+	/**
+	 * Copies the minimum event into a reusable Event object, without removing it.
+	 *
+	 * @param target the Event object receiving the minimum event.
+	 * @return the target.
+	 */
+	public Event min(Event target)
+	{
+		return get(handles[1], target);
+	}
+
+	public Event.Type minType()
+	{
+		return typeOf(data[1]);
+	}
+
+	public double minX()
+	{
+		return xs[1];
+	}
+
+	public double minY()
+	{
+		return ys[1];
+	}
+
+	/**
+	 * Moves the event at slot from into slot to.
+	 */
+	private void moveSlot(int from, int to)
+	{
+		xs[to] = xs[from];
+		ys[to] = ys[from];
+		errors[to] = errors[from];
+		data[to] = data[from];
+		handles[to] = handles[from];
+		slots[handles[to]] = to;
+	}
+
+	/**
+	 * Gives out a handle, reusing a released one if possible. There are never more live handles than slots.
+	 */
+	private int newHandle()
+	{
+		return (freeCount > 0) ? freeHandles[--freeCount] : handleCount++;
+	}
+
+	/**
+	 * Removes a queued event from any slot of the heap in O(log n) time.
+	 *
+	 * @param h handle of the event to be removed.
+	 */
+	public void remove(int h)
+	{
+		int i = slots[h];
+
+		if (typeOf(data[i]) == Event.Type.INTERSECTION)
+		{
+			long key = pairKey(segmentOf(data[i]), intersectionSegmentOf(data[i]));
+
+			// A duplicate added through add may have taken the place of this event in the pair index.
+			if (pairIndex.get(key) == h)
+			{
+				pairIndex.remove(key);
+			}
+		}
+
+		slots[h] = 0;
+		freeHandles[freeCount++] = h;
+
+		int last = length--;
+
+		if (i < last)
+		{
+			// Move the last event into the vacated slot, it may belong either above or below it.
+			moveSlot(last, i);
+
+			if (i > 1 && precedes(i, i / 2))
+			{
+				siftUp(i);
+			} else
+			{
+				siftDown(i);
+			}
+		}
+	}
+
+	/**
+	 * Determines whether the event at slot i precedes the event at slot j.
+	 */
+	private boolean precedes(int i, int j)
+	{
+		return precedes(xs[i], ys[i], errors[i], data[i], xs[j], ys[j], errors[j], data[j]);
+	}
+
+	/**
+	 * Determines whether the event (ax, ay, ad) precedes the event (bx, by, bd), i.e., whether its event point has a
+	 * smaller x, or the same x and a smaller y. At the same event point, the events of line segments ending there come
+	 * first, then intersection events, and then the events of line segments starting there. Event points closer than
+	 * their errors ae and be are compared exactly by the store.
+	 */
+	private boolean precedes(double ax, double ay, double ae, long ad, double bx, double by, double be, long bd)
+	{
+		double tolerance = ae + be;
+		double dx = ax - bx;
+
+		if (dx < -tolerance || dx > tolerance)
+		{
+			return dx < 0.0;
+		} else if (tolerance == 0.0 || store == null)
+		{
+			// If the two event points have the same x, then the minimum will be the point with the minimum y.
+			if (dx != 0.0)
+			{
+				return dx < 0.0;
+			} else if (ay != by)
+			{
+				return ay < by;
+			}
+		} else
+		{
+			int order = store.compareEventPoints(ax, ay, ae, segmentOf(ad), intersectionSegmentOf(ad), bx, by, be,
+					segmentOf(bd), intersectionSegmentOf(bd));
+
+			if (order != 0)
+			{
+				return order < 0;
+			}
+		}
+
+		return RANKS[(int) (ad >>> 62)] < RANKS[(int) (bd >>> 62)];
+	}
+
+	/**
+	 * Removes the minimum event into a new Event object.
+	 */
+	public Event removeMin()
+	{
+		return removeMin(new Event());
+	}
+
+	/**
+	 * Removes the minimum event into a reusable Event object, without allocating.
+	 *
+	 * @param target the Event object receiving the minimum event.
+	 * @return the target.
+	 */
+	public Event removeMin(Event target)
+	{
+		int h = handles[1];
+		get(h, target);
+		remove(h);
+
+		return target;
+	}
+
+	/**
+	 * Empties the queue and refills it with the LEFT and RIGHT events of every line segment of a store, as a queue
+	 * built by {@link #EventQueue(SegmentStore, int)} would hold them, growing the storage only if it is too small.
+	 *
+	 * @param store                 the line segments.
+	 * @param expectedIntersections hint of the number of intersection events that will be pending at once.
+	 */
+	public void reset(SegmentStore store, int expectedIntersections)
+	{
+		reset(store, expectedIntersections, Double.NEGATIVE_INFINITY);
+	}
+
+	/**
+	 * Empties the queue and refills it with the LEFT and RIGHT events on or past a vertical line, for a sweep starting
+	 * there with the line segments crossing it already in the sweep line status.
+	 *
+	 * @param store                 the line segments.
+	 * @param expectedIntersections hint of the number of intersection events that will be pending at once.
+	 * @param start                 x-coordinate of the line.
+	 */
+	void reset(SegmentStore store, int expectedIntersections, double start)
+	{
+		clear();
+
+		int capacity = 2 * store.size() + Math.max(expectedIntersections, 0) + 1;
+
+		if (capacity > arraySize)
+		{
+			resize(capacity);
+		}
+
+		addEndpoints(store, start);
+	}
+
+	/**
+	 * Resizes the storage of the heap, and of the handles, keeping the queued events.
+	 */
+	private void resize(int arraySize)
+	{
+		this.arraySize = arraySize;
+
+		xs = Arrays.copyOf(xs, arraySize);
+		ys = Arrays.copyOf(ys, arraySize);
+		errors = Arrays.copyOf(errors, arraySize);
+		data = Arrays.copyOf(data, arraySize);
+		handles = Arrays.copyOf(handles, arraySize);
+
+		slots = Arrays.copyOf(slots, arraySize);
+		freeHandles = Arrays.copyOf(freeHandles, arraySize);
+	}
+
+	/**
+	 * Sifts the event at slot i down until neither of its children precedes it.
+	 */
+	private void siftDown(int i)
+	{
+		double x = xs[i];
+		double y = ys[i];
+		double error = errors[i];
+		long d = data[i];
+		int h = handles[i];
+		int parent = i;
+
+		while (parent * 2 <= length)
+		{
+			int child = parent * 2;
+
+			if (child != length && precedes(child + 1, child))
+			{
+				child++;
+			}
+
+			if (!precedes(xs[child], ys[child], errors[child], data[child], x, y, error, d))
+			{
+				break;
+			}
+
+			moveSlot(child, parent);
+			parent = child;
+		}
+
+		xs[parent] = x;
+		ys[parent] = y;
+		errors[parent] = error;
+		data[parent] = d;
+		handles[parent] = h;
+		slots[h] = parent;
+	}
+
+	/**
+	 * Sifts the event at slot i up until its parent does not succeed it.
+	 */
+	private void siftUp(int i)
+	{
+		double x = xs[i];
+		double y = ys[i];
+		double error = errors[i];
+		long d = data[i];
+		int h = handles[i];
+		int loc = i;
+
+		while (loc > 1 && precedes(x, y, error, d, xs[loc / 2], ys[loc / 2], errors[loc / 2], data[loc / 2]))
+		{
+			moveSlot(loc / 2, loc);
+			loc /= 2;
+		}
+
+		xs[loc] = x;
+		ys[loc] = y;
+		errors[loc] = error;
+		data[loc] = d;
+		handles[loc] = h;
+		slots[h] = loc;
+	}
+}
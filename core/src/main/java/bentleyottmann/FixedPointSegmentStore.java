@@ -0,0 +1,429 @@
+package bentleyottmann;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Storage of line segments whose endpoints lie on an integer grid, kept as long coordinates alongside the
+ *         double ones of {@link SegmentStore}. The coordinates are bounded by {@link #MAX_COORDINATE}, so that every
+ *         orientation, and every numerator and denominator of a crossing, is exact in long arithmetic.
+ *         </p>
+ *         <p>
+ *         The grid therefore spans 2^25 - 1 = 33,554,431 units on either side of the origin, and adding a line segment
+ *         beyond it throws an {@link IllegalArgumentException}. Data on a finer or wider grid has to be scaled or
+ *         translated into this range first, e.g., coordinates in millimetres cover about 33 km around the origin.
+ *         </p>
+ *         <p>
+ *         The predicates of the sweep, comparing line segments along the sweep line, deciding whether they cross and
+ *         whether a line segment passes through a crossing, are exact and need no epsilon. The point of a crossing is
+ *         a rational, it is given to the sweep as doubles computed only from its exact value, so that crossings at the
+ *         same point get the same coordinates whichever line segments they come from. Crossings can also be snapped to
+ *         the nearest grid point, see {@link SnapRounder}.
+ *         </p>
+ */
+public class FixedPointSegmentStore extends SegmentStore
+{
+	/**
+	 * Largest absolute value of a grid coordinate, 33,554,431, the differences of coordinates then fit in 26 bits and
+	 * their products in 53 bits, the precision of the doubles the crossings are rounded from.
+	 */
+	public static final long MAX_COORDINATE = (1L << 25) - 1;
+
+	private static final int MIN_CAPACITY = 16;
+
+	// Checks that a grid coordinate lies within the supported range.
+	private static long checkCoordinate(long coordinate)
+	{
+		if (coordinate < -MAX_COORDINATE || coordinate > MAX_COORDINATE)
+		{
+			throw new IllegalArgumentException("Grid coordinate out of range: " + coordinate);
+		}
+
+		return coordinate;
+	}
+
+	// Returns floor(p + r * num / den) for den > 0, estimated in floating point and corrected exactly.
+	private static long crossingFloor(long p, long r, long num, long den)
+	{
+		long floor = (long) Math.floor(p + (double) r * num / den);
+		long remainder = crossingRemainder(p, r, num, den, floor);
+
+		if (remainder < 0)
+		{
+			floor--;
+		} else if (remainder >= den)
+		{
+			floor++;
+		}
+
+		return floor;
+	}
+
+	// Returns (p + r * num / den - floor) * den. The products may overflow, but the result is exact as long as it
+	// fits in a long, which holds for a floor within one of the true one.
+	private static long crossingRemainder(long p, long r, long num, long den, long floor)
+	{
+		return (p - floor) * den + r * num;
+	}
+
+	/**
+	 * Copies a list of line segments into a new store, rounding their endpoints to the nearest grid points. The id of
+	 * each line segment is its index in the list.
+	 *
+	 * @param segments the line segments.
+	 * @return the store holding the line segments.
+	 * @throws IllegalArgumentException if a rounded coordinate exceeds {@link #MAX_COORDINATE} in absolute value.
+	 */
+	public static FixedPointSegmentStore of(List<LineSegment> segments)
+	{
+		FixedPointSegmentStore store = new FixedPointSegmentStore(segments.size());
+
+		for (LineSegment segment : segments)
+		{
+			store.add(segment);
+		}
+
+		return store;
+	}
+
+	// Returns the sign of a * b + c * d, computed exactly in 128 bits.
+	private static int signOfSum(long a, long b, long c, long d)
+	{
+		long low = a * b + c * d;
+		long high = Math.multiplyHigh(a, b) + Math.multiplyHigh(c, d)
+				+ ((Long.compareUnsigned(low, a * b) < 0) ? 1 : 0);
+
+		if (high != 0)
+		{
+			return (high > 0) ? 1 : -1;
+		}
+
+		return (low != 0) ? 1 : 0;
+	}
+
+	private long[] gx1, gy1, gx2, gy2; // Canonical endpoints on the grid.
+
+	public FixedPointSegmentStore()
+	{
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * @param capacity number of line segments the store can hold before growing.
+	 */
+	public FixedPointSegmentStore(int capacity)
+	{
+		super(capacity);
+
+		capacity = Math.max(capacity, MIN_CAPACITY);
+
+		gx1 = new long[capacity];
+		gy1 = new long[capacity];
+		gx2 = new long[capacity];
+		gy2 = new long[capacity];
+	}
+
+	/**
+	 * Adds a line segment given by its endpoints in any order, rounding them to the nearest grid points.
+	 *
+	 * @return the id of the line segment.
+	 * @throws IllegalArgumentException if a rounded coordinate exceeds {@link #MAX_COORDINATE} in absolute value.
+	 */
+	@Override
+	public int add(double ax, double ay, double bx, double by)
+	{
+		return add(Math.round(ax), Math.round(ay), Math.round(bx), Math.round(by));
+	}
+
+	/**
+	 * Adds a line segment given by its grid endpoints in any order.
+	 *
+	 * @return the id of the line segment.
+	 * @throws IllegalArgumentException if a coordinate exceeds {@link #MAX_COORDINATE} in absolute value.
+	 */
+	public int add(long ax, long ay, long bx, long by)
+	{
+		checkCoordinate(ax);
+		checkCoordinate(ay);
+		checkCoordinate(bx);
+		checkCoordinate(by);
+
+		// The grid coordinates are exact as doubles, so the canonical endpoints can be read back from the store.
+		int id = super.add((double) ax, (double) ay, (double) bx, (double) by);
+
+		if (id == gx1.length)
+		{
+			grow();
+		}
+
+		gx1[id] = (long) getX1(id);
+		gy1[id] = (long) getY1(id);
+		gx2[id] = (long) getX2(id);
+		gy2[id] = (long) getY2(id);
+
+		return id;
+	}
+
+	/**
+	 * Compares line segment a to line segment b along the sweep line, exactly when the event point is the left
+	 * endpoint of a, as it is whenever the sweep inserts a line segment. Other event points are compared as in
+	 * {@link SegmentStore#compare(int, int, double, double)}.
+	 *
+	 * @return 0 if a and b are the same line segment, 1 if a is above b, and -1 if a is below b.
+	 */
+	@Override
+	public int compare(int a, int b, double eventX, double eventY)
+	{
+		if (eventX != gx1[a] || eventY != gy1[a])
+		{
+			return super.compare(a, b, eventX, eventY);
+		}
+
+		boolean sameLeft = gx1[a] == gx1[b] && gy1[a] == gy1[b];
+
+		// Case where line segments are the same, i.e., line segment has been found.
+		if (a == b || (sameLeft && gx2[a] == gx2[b] && gy2[a] == gy2[b]))
+		{
+			return 0;
+		}
+		// Case where line segments share an exact endpoint.
+		else if (sameLeft)
+		{
+			return (Geometry.orientation(gx1[a], gy1[a], gx2[a], gy2[a], gx2[b], gy2[b]) <= 0) ? 1 : -1;
+		}
+		// General case where the left endpoint of a is compared with b.
+		else if (!isVertical(b))
+		{
+			long side = Geometry.orientation(gx1[b], gy1[b], gx2[b], gy2[b], gx1[a], gy1[a]);
+
+			// When a starts on b, it is above b if it leaves b to the left.
+			if (side == 0)
+			{
+				return (Geometry.orientation(gx1[a], gy1[a], gx2[a], gy2[a], gx2[b], gy2[b]) <= 0) ? 1 : -1;
+			}
+
+			return (side > 0) ? 1 : -1;
+		}
+		// Case where vertical line segments overlap, the one reaching higher is above.
+		else if (isVertical(a))
+		{
+			return (gy2[a] >= gy2[b]) ? 1 : -1;
+		} else
+		{
+			// Along the sweep line, a vertical line segment through the event point reaches past it, so it is above
+			// every line segment starting there.
+			return (gy2[b] < gy1[a]) ? 1 : -1;
+		}
+	}
+
+	/**
+	 * Copies some of the line segments into a new fixed-point store, with the same grid endpoints and layers.
+	 *
+	 * @param ids the line segments to copy, line segment i of the copy being ids[i].
+	 * @return the new store.
+	 */
+	@Override
+	public FixedPointSegmentStore copyOf(int[] ids)
+	{
+		FixedPointSegmentStore copy = new FixedPointSegmentStore(ids.length);
+
+		for (int s : ids)
+		{
+			copy.setLayer(copy.add(gx1[s], gy1[s], gx2[s], gy2[s]), getLayer(s));
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Determines whether two line segments cross at a single point. With exact orientations, line segments which
+	 * are collinear or share an endpoint never straddle each other, so no further checks are needed.
+	 */
+	@Override
+	public boolean crosses(int a, int b)
+	{
+		return straddles(a, b) && straddles(b, a);
+	}
+
+	/**
+	 * Calculates the point where two line segments cross as {@link #intersection(int, int, double[])} does, crossing
+	 * line segments being exactly those which straddle each other.
+	 */
+	@Override
+	boolean crossing(int a, int b, double[] crossing)
+	{
+		return intersection(a, b, crossing);
+	}
+
+	// Returns the cross product of the directions of a and b, the denominator of the parameter along a of the point
+	// where their lines meet.
+	private long denominator(int a, int b)
+	{
+		return (gx2[a] - gx1[a]) * (gy2[b] - gy1[b]) - (gy2[a] - gy1[a]) * (gx2[b] - gx1[b]);
+	}
+
+	public long getGridX1(int id)
+	{
+		return gx1[id];
+	}
+
+	public long getGridX2(int id)
+	{
+		return gx2[id];
+	}
+
+	public long getGridY1(int id)
+	{
+		return gy1[id];
+	}
+
+	public long getGridY2(int id)
+	{
+		return gy2[id];
+	}
+
+	private void grow()
+	{
+		int capacity = gx1.length + (gx1.length >> 1);
+
+		gx1 = Arrays.copyOf(gx1, capacity);
+		gy1 = Arrays.copyOf(gy1, capacity);
+		gx2 = Arrays.copyOf(gx2, capacity);
+		gy2 = Arrays.copyOf(gy2, capacity);
+	}
+
+	/**
+	 * Calculates the point where two line segments cross. Each coordinate is the sum of its exact integer part and
+	 * of its fractional part rounded once, so that equal crossings always get equal coordinates, within an ulp of the
+	 * exact ones.
+	 *
+	 * @param intersection Buffer of at least two elements, receives x at index 0 and y at index 1 when the line
+	 *                     segments cross, and is left untouched otherwise. A third element, if any, receives a bound
+	 *                     on the rounding error of both coordinates.
+	 * @return true if the line segments cross.
+	 */
+	@Override
+	public boolean intersection(int a, int b, double[] intersection)
+	{
+		if (!crosses(a, b))
+		{
+			return false;
+		}
+
+		long den = denominator(a, b);
+		long num = numerator(a, b);
+
+		if (den < 0)
+		{
+			den = -den;
+			num = -num;
+		}
+
+		long rx = gx2[a] - gx1[a];
+		long ry = gy2[a] - gy1[a];
+		long floorX = crossingFloor(gx1[a], rx, num, den);
+		long floorY = crossingFloor(gy1[a], ry, num, den);
+
+		// The remainders are below den, which is below 2^53, so both are exact doubles and the division rounds once.
+		intersection[0] = floorX + (double) crossingRemainder(gx1[a], rx, num, den, floorX) / den;
+		intersection[1] = floorY + (double) crossingRemainder(gy1[a], ry, num, den, floorY) / den;
+
+		if (intersection.length > 2)
+		{
+			intersection[2] = Math.ulp(Math.max(Math.abs(intersection[0]), Math.abs(intersection[1])));
+		}
+
+		return true;
+	}
+
+	// Returns the numerator of the parameter along a of the point where the lines through a and b meet.
+	private long numerator(int a, int b)
+	{
+		return (gx1[b] - gx1[a]) * (gy2[b] - gy1[b]) - (gy1[b] - gy1[a]) * (gx2[b] - gx1[b]);
+	}
+
+	/**
+	 * Determines exactly whether a line segment passes through the point where line segments a and b cross.
+	 */
+	@Override
+	public boolean passesThrough(int id, int a, int b, double[] intersection)
+	{
+		if (id == a || id == b)
+		{
+			return true;
+		}
+
+		long den = denominator(a, b);
+		long num = numerator(a, b);
+
+		if (den < 0)
+		{
+			den = -den;
+			num = -num;
+		}
+
+		long rx = gx2[a] - gx1[a];
+		long ry = gy2[a] - gy1[a];
+		long cx = gx2[id] - gx1[id];
+		long cy = gy2[id] - gy1[id];
+
+		// The orientation of the crossing relative to the line segment, scaled by den, is linear in num.
+		long side = Geometry.orientation(gx1[id], gy1[id], gx2[id], gy2[id], gx1[a], gy1[a]);
+
+		if (signOfSum(den, side, num, cx * ry - cy * rx) != 0)
+		{
+			return false;
+		}
+
+		// Lying on the line through the line segment, the crossing must also lie within its bounding box.
+		return signOfSum(gx1[a] - gx1[id], den, rx, num) >= 0 && signOfSum(gx2[id] - gx1[a], den, -rx, num) >= 0
+				&& signOfSum(gy1[a] - Math.min(gy1[id], gy2[id]), den, ry, num) >= 0
+				&& signOfSum(Math.max(gy1[id], gy2[id]) - gy1[a], den, -ry, num) >= 0;
+	}
+
+	/**
+	 * Calculates the grid point nearest to where two line segments cross, rounding halves up, exactly.
+	 *
+	 * @param pixel Buffer of at least two elements, receives x at index 0 and y at index 1 when the line segments
+	 *              cross, and is left untouched otherwise.
+	 * @return true if the line segments cross.
+	 */
+	public boolean snappedIntersection(int a, int b, long[] pixel)
+	{
+		if (!crosses(a, b))
+		{
+			return false;
+		}
+
+		long den = denominator(a, b);
+		long num = numerator(a, b);
+
+		if (den < 0)
+		{
+			den = -den;
+			num = -num;
+		}
+
+		long rx = gx2[a] - gx1[a];
+		long ry = gy2[a] - gy1[a];
+		long floorX = crossingFloor(gx1[a], rx, num, den);
+		long floorY = crossingFloor(gy1[a], ry, num, den);
+
+		pixel[0] = floorX + ((2 * crossingRemainder(gx1[a], rx, num, den, floorX) >= den) ? 1 : 0);
+		pixel[1] = floorY + ((2 * crossingRemainder(gy1[a], ry, num, den, floorY) >= den) ? 1 : 0);
+
+		return true;
+	}
+
+	// Checks if line segment a straddles line segment b, i.e., the endpoints of b lie strictly on opposite sides of a.
+	private boolean straddles(int a, int b)
+	{
+		long orientationWithFirstPoint = Geometry.orientation(gx1[a], gy1[a], gx2[a], gy2[a], gx1[b], gy1[b]);
+		long orientationWithLastPoint = Geometry.orientation(gx1[a], gy1[a], gx2[a], gy2[a], gx2[b], gy2[b]);
+
+		return (orientationWithFirstPoint < 0 && orientationWithLastPoint > 0)
+				|| (orientationWithFirstPoint > 0 && orientationWithLastPoint < 0);
+	}
+}
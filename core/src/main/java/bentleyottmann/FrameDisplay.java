@@ -1,3 +1,5 @@
+package bentleyottmann;
+
 import java.util.List;
 import javax.swing.*;
 
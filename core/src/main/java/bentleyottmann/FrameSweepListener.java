@@ -0,0 +1,51 @@
+package bentleyottmann;
+
+import java.awt.Color;
+import java.util.List;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         A {@link SweepListener} which depicts the progression of the sweep line algorithm on a {@link FrameDisplay},
+ *         pausing after each reported intersection so the sweep can be followed visually.
+ *         </p>
+ */
+public class FrameSweepListener implements SweepListener
+{
+	private FrameDisplay frame;
+	private List<DrawableSegment> segments;
+	private int msDelay;
+
+	/**
+	 * @param frame    frame on which the line segments are depicted.
+	 * @param segments depicted line segments, indexed by their id within the swept SegmentStore.
+	 * @param msDelay  milliseconds to pause after each reported intersection.
+	 */
+	public FrameSweepListener(FrameDisplay frame, List<DrawableSegment> segments, int msDelay)
+	{
+		this.frame = frame;
+		this.segments = segments;
+		this.msDelay = msDelay;
+	}
+
+	@Override
+	public void intersectionFound(Point intersection, int segment, int intersectionSegment)
+	{
+		DrawablePoint point = new DrawablePoint(intersection);
+		point.setInteriorColor(Color.red);
+		frame.addGeometricObject(point);
+		Tester.delay(msDelay);
+	}
+
+	@Override
+	public void segmentAdded(int segment)
+	{
+	}
+
+	@Override
+	public void segmentRemoved(int segment)
+	{
+		segments.get(segment).setBoundaryColor(Color.black);
+		frame.repaint();
+	}
+}
@@ -1,3 +1,4 @@
+package bentleyottmann;
 
 import java.awt.*;
 
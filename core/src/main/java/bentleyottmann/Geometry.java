@@ -0,0 +1,159 @@
+package bentleyottmann;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Primitive geometric kernels shared by {@link LineSegment} and {@link SegmentStore}, operating on plain
+ *         coordinates so that neither of them needs to allocate {@link Point} objects.
+ *         </p>
+ *         <p>
+ *         The orientation predicate is robust, its sign is always exact. It is evaluated in floating point and only
+ *         falls back to exact arithmetic when rounding could have changed the sign, which happens for nearly collinear
+ *         points. Exact fallbacks are always counted. Counting every evaluation, which the rate of fallbacks needs, has
+ *         a measurable cost on the fast path and is only done once enabled through
+ *         {@link #setCountingOrientations(boolean)}.
+ *         </p>
+ */
+public final class Geometry
+{
+	// Relative error bound of the floating point orientation, from J. R. Shewchuk, "Adaptive Precision
+	// Floating-Point Arithmetic and Fast Robust Geometric Predicates", with epsilon being half an ulp of 1.
+	static final double ORIENTATION_ERROR_BOUND = (3.0 + 16.0 * 0x1p-53) * 0x1p-53;
+
+	private static final LongAdder ORIENTATIONS = new LongAdder(); // Evaluations of the orientation, when counting.
+	private static final LongAdder EXACT_ORIENTATIONS = new LongAdder(); // Evaluations which fell back to exact.
+	private static volatile boolean countingOrientations;
+
+	// Checks if two points, given by their coordinates, are equal within POINT_EPSILON.
+	public static boolean coincide(double ax, double ay, double bx, double by)
+	{
+		return Math.abs(ax - bx) < Globals.POINT_EPSILON && Math.abs(ay - by) < Globals.POINT_EPSILON;
+	}
+
+	// Evaluates the orientation exactly, doubles being exactly representable as BigDecimals.
+	private static double exactOrientation(double ax, double ay, double bx, double by, double cx, double cy)
+	{
+		BigDecimal x = new BigDecimal(ax);
+		BigDecimal y = new BigDecimal(ay);
+		BigDecimal determinant = new BigDecimal(bx).subtract(x).multiply(new BigDecimal(cy).subtract(y))
+				.subtract(new BigDecimal(by).subtract(y).multiply(new BigDecimal(cx).subtract(x)));
+		double value = determinant.doubleValue();
+
+		// Keeping the sign should the magnitude underflow.
+		return (value == 0.0) ? determinant.signum() * Double.MIN_VALUE : value;
+	}
+
+	/**
+	 * Returns the number of orientations evaluated exactly, since the counts were last reset.
+	 */
+	public static long getExactOrientationCount()
+	{
+		return EXACT_ORIENTATIONS.sum();
+	}
+
+	/**
+	 * Returns the fraction of orientations which fell back to exact arithmetic, since the counts were last reset,
+	 * meaningful only while evaluations are being counted.
+	 */
+	public static double getExactOrientationRate()
+	{
+		long orientations = ORIENTATIONS.sum();
+
+		return (orientations == 0) ? 0.0 : (double) EXACT_ORIENTATIONS.sum() / orientations;
+	}
+
+	/**
+	 * Returns the number of orientations evaluated while counting them, since the counts were last reset.
+	 */
+	public static long getOrientationCount()
+	{
+		return ORIENTATIONS.sum();
+	}
+
+	/**
+	 * Determines the orientation of point c relative to the directed line through points a and b, as twice the
+	 * signed area of the triangle abc. The sign is exact, only the magnitude may be rounded.
+	 *
+	 * @return a positive value if c lies to the left of the line (a, b, c counterclockwise), a negative value if it
+	 *         lies to the right (clockwise), and zero if and only if the three points are collinear.
+	 */
+	public static double orientation(double ax, double ay, double bx, double by, double cx, double cy)
+	{
+		if (countingOrientations)
+		{
+			ORIENTATIONS.increment();
+		}
+
+		double detLeft = (bx - ax) * (cy - ay);
+		double detRight = (by - ay) * (cx - ax);
+		double determinant = detLeft - detRight;
+		double detSum;
+
+		// When both products do not have the same sign, no cancellation can flip the sign of their difference.
+		if (detLeft > 0.0)
+		{
+			if (detRight <= 0.0)
+			{
+				return determinant;
+			}
+
+			detSum = detLeft + detRight;
+		} else if (detLeft < 0.0)
+		{
+			if (detRight >= 0.0)
+			{
+				return determinant;
+			}
+
+			detSum = -detLeft - detRight;
+		} else
+		{
+			return determinant;
+		}
+
+		if (Math.abs(determinant) > ORIENTATION_ERROR_BOUND * detSum)
+		{
+			return determinant;
+		}
+
+		EXACT_ORIENTATIONS.increment();
+
+		return exactOrientation(ax, ay, bx, by, cx, cy);
+	}
+
+	/**
+	 * Determines the orientation of point c relative to the directed line through points a and b, in exact integer
+	 * arithmetic. The result cannot overflow as long as the differences of the coordinates fit in 31 bits.
+	 *
+	 * @return twice the signed area of the triangle abc, positive if a, b, c are counterclockwise, negative if they
+	 *         are clockwise, and zero if they are collinear.
+	 */
+	public static long orientation(long ax, long ay, long bx, long by, long cx, long cy)
+	{
+		return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+	}
+
+	/**
+	 * Resets the counts of evaluated and exact orientations.
+	 */
+	public static void resetOrientationCounts()
+	{
+		ORIENTATIONS.reset();
+		EXACT_ORIENTATIONS.reset();
+	}
+
+	/**
+	 * Enables or disables counting every evaluation of the orientation, exact fallbacks are counted regardless.
+	 */
+	public static void setCountingOrientations(boolean counting)
+	{
+		countingOrientations = counting;
+	}
+
+	private Geometry()
+	{
+	}
+}
@@ -1,3 +1,4 @@
+package bentleyottmann;
 
 public class Globals 
 {
@@ -1,3 +1,5 @@
+package bentleyottmann;
+
 import javax.swing.*;
 import java.awt.*;
 import java.util.ArrayList;
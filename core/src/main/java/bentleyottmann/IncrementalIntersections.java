@@ -0,0 +1,457 @@
+package bentleyottmann;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Crossings of a changing set of line segments, kept up to date as line segments are added and removed instead
+ *         of being swept again from scratch. The line segments are indexed in a uniform grid of square cells, each
+ *         line segment in the cells it passes through, widened by a small margin. The cells are keyed in a
+ *         {@link LongIntMap}, so only the cells in use take space, and the current crossings are kept by pair of line
+ *         segments.
+ *         </p>
+ *         <p>
+ *         Two crossing line segments share the cell of their crossing, so adding a line segment only tests it against
+ *         the line segments found in its own cells, and removing one only looks up its pairs with them. The cost of an
+ *         update depends on the length of the line segment and the density around it, and not on the number of line
+ *         segments indexed.
+ *         </p>
+ *         <p>
+ *         The cells of a line segment are walked column by column, each column over the range of rows the line
+ *         segment spans in it, so a line segment far longer than the cells costs an update about its length over the
+ *         cell size, and no scratch space.
+ *         </p>
+ *         <p>
+ *         Crossings follow the rules of {@link SegmentStore#intersection(int, int, double[])}, like those reported by
+ *         the sweep. Removed line segments stay in the store, and their ids are not reused.
+ *         </p>
+ */
+public class IncrementalIntersections
+{
+	private static final double CELL_MARGIN = 1000 * Globals.POINT_EPSILON; // Widening of line segments when indexed.
+	private static final int MIN_CAPACITY = 16;
+
+	// Returns the mean extent of the line segments of a store along their longer axis, or 1 for an empty store.
+	private static double meanExtent(SegmentStore store)
+	{
+		double total = 0;
+
+		for (int s = 0; s < store.size(); s++)
+		{
+			total += Math.max(store.getX2(s) - store.getX1(s), Math.abs(store.getY2(s) - store.getY1(s)));
+		}
+
+		return (total > 0) ? total / store.size() : 1;
+	}
+
+	private SegmentStore store;
+	private double cellSize;
+	private boolean[] indexed; // Whether each line segment of the store is currently indexed.
+	private int segmentCount; // current number of indexed line segments
+
+	// Entries of the grid, each one a line segment in a cell, chained per cell.
+	private LongIntMap cells; // First entry of each cell.
+	private int[] entrySegments;
+	private int[] nextEntries; // Next entry in the same cell or in the free list, or -1.
+	private int freeEntry = -1; // First entry of the free list.
+	private int entryCount; // number of entries ever allocated
+
+	// Current crossings, by slot.
+	private LongIntMap pairs; // Slot of the crossing of each pair of crossing line segments.
+	private double[] crossingXs, crossingYs;
+	private int[] crossingSegments, crossingIntersectionSegments; // Pair of each slot, -1 for free slots.
+	private int[] freeCrossings; // Stack of free slots.
+	private int freeCrossingCount;
+	private int crossingSlots; // number of slots ever allocated
+
+	// Scratch state of an update.
+	private int walked; // Line segment whose cells are walked.
+	private long column, toColumn; // Current and last column of the walk.
+	private long row, toRow; // Current and last row of the walk in the current column.
+	private int[] visits; // Update in which each line segment was last visited.
+	private int visit;
+	private double[] crossing = new double[2];
+
+	public IncrementalIntersections(List<LineSegment> segments)
+	{
+		this(SegmentStore.of(segments));
+	}
+
+	/**
+	 * Indexes the line segments of a store in cells as wide as the mean extent of the line segments.
+	 */
+	public IncrementalIntersections(SegmentStore store)
+	{
+		this(store, meanExtent(store));
+	}
+
+	/**
+	 * Indexes every line segment of a store, finding their crossings.
+	 *
+	 * @param store    the line segments, which keeps receiving the added line segments, ids of the line segments are
+	 *                 used in the reported crossings.
+	 * @param cellSize width of the cells of the grid, best about the length of the typical line segment.
+	 */
+	public IncrementalIntersections(SegmentStore store, double cellSize)
+	{
+		if (!(cellSize > 0) || Double.isInfinite(cellSize))
+		{
+			throw new IllegalArgumentException("Invalid cell size " + cellSize);
+		}
+
+		int capacity = Math.max(store.size(), MIN_CAPACITY);
+
+		this.store = store;
+		this.cellSize = cellSize;
+		indexed = new boolean[capacity];
+		visits = new int[capacity];
+		cells = new LongIntMap(capacity, -1);
+		entrySegments = new int[capacity];
+		nextEntries = new int[capacity];
+		pairs = new LongIntMap(capacity, -1);
+		crossingXs = new double[capacity];
+		crossingYs = new double[capacity];
+		crossingSegments = new int[capacity];
+		crossingIntersectionSegments = new int[capacity];
+		freeCrossings = new int[capacity];
+
+		for (int s = 0; s < store.size(); s++)
+		{
+			index(s, null);
+		}
+	}
+
+	/**
+	 * Adds a line segment given by its endpoints in any order, finding its crossings with the indexed line segments.
+	 *
+	 * @param sink receives every new crossing, may be null.
+	 * @return the id of the line segment.
+	 */
+	public int addSegment(double ax, double ay, double bx, double by, IntersectionSink sink)
+	{
+		int id = store.add(ax, ay, bx, by);
+		index(id, sink);
+
+		return id;
+	}
+
+	/**
+	 * Adds a copy of a line segment, finding its crossings with the indexed line segments.
+	 *
+	 * @return the id of the line segment.
+	 */
+	public int addSegment(LineSegment segment)
+	{
+		return addSegment(segment, null);
+	}
+
+	/**
+	 * Adds a copy of a line segment, finding its crossings with the indexed line segments.
+	 *
+	 * @param sink receives every new crossing, may be null.
+	 * @return the id of the line segment.
+	 */
+	public int addSegment(LineSegment segment, IntersectionSink sink)
+	{
+		int id = store.add(segment);
+		index(id, sink);
+
+		return id;
+	}
+
+	/**
+	 * Returns whether a line segment of the store is currently indexed, i.e., neither removed nor added to the store
+	 * behind the back of this index.
+	 */
+	public boolean contains(int id)
+	{
+		return id >= 0 && id < indexed.length && indexed[id];
+	}
+
+	// Drops the crossing of line segment id with another line segment, if any and not visited yet in this update.
+	private void dropCrossing(int id, int other, IntersectionSink sink)
+	{
+		if (visits[other] == visit)
+		{
+			return;
+		}
+
+		visits[other] = visit;
+
+		int slot = pairs.remove(EventQueue.pairKey(id, other));
+
+		if (slot != -1)
+		{
+			if (sink != null)
+			{
+				sink.accept(crossingXs[slot], crossingYs[slot], crossingSegments[slot],
+						crossingIntersectionSegments[slot]);
+			}
+
+			crossingSegments[slot] = -1;
+			freeCrossings[freeCrossingCount++] = slot;
+		}
+	}
+
+	public double getCellSize()
+	{
+		return cellSize;
+	}
+
+	/**
+	 * Returns the number of current crossing pairs of line segments.
+	 */
+	public int getCrossingCount()
+	{
+		return pairs.size();
+	}
+
+	/**
+	 * Collects the current crossings, every crossing pair of line segments along with its point of intersection.
+	 *
+	 * @return the crossings, in no particular order.
+	 */
+	public IntersectionResult getIntersectingPairs()
+	{
+		IntersectionResult result = new IntersectionResult();
+
+		for (int i = 0; i < crossingSlots; i++)
+		{
+			if (crossingSegments[i] >= 0)
+			{
+				result.accept(crossingXs[i], crossingYs[i], crossingSegments[i], crossingIntersectionSegments[i]);
+			}
+		}
+
+		return result;
+	}
+
+	public SegmentStore getSegmentStore()
+	{
+		return store;
+	}
+
+	/**
+	 * Returns the number of indexed line segments.
+	 */
+	public int getSegmentCount()
+	{
+		return segmentCount;
+	}
+
+	// Tests line segment s against the line segments sharing its cells, recording the crossings, then enters it into
+	// its cells.
+	private void index(int s, IntersectionSink sink)
+	{
+		if (s >= indexed.length)
+		{
+			int capacity = Math.max(s + 1, indexed.length + (indexed.length >> 1));
+			indexed = Arrays.copyOf(indexed, capacity);
+			visits = Arrays.copyOf(visits, capacity);
+		}
+
+		visits[s] = ++visit;
+		startWalk(s);
+
+		while (nextCell())
+		{
+			long cell = PointIndex.cellKey(column, row);
+			int head = cells.get(cell);
+
+			for (int e = head; e != -1; e = nextEntries[e])
+			{
+				testCrossing(s, entrySegments[e], sink);
+			}
+
+			int entry = newEntry();
+			entrySegments[entry] = s;
+			nextEntries[entry] = head;
+			cells.put(cell, entry);
+		}
+
+		indexed[s] = true;
+		segmentCount++;
+	}
+
+	// Takes an entry from the free list, or else allocates a new one.
+	private int newEntry()
+	{
+		if (freeEntry != -1)
+		{
+			int entry = freeEntry;
+			freeEntry = nextEntries[entry];
+
+			return entry;
+		}
+
+		if (entryCount == entrySegments.length)
+		{
+			int capacity = entryCount + (entryCount >> 1);
+			entrySegments = Arrays.copyOf(entrySegments, capacity);
+			nextEntries = Arrays.copyOf(nextEntries, capacity);
+		}
+
+		return entryCount++;
+	}
+
+	// Moves the walk to the next cell of the line segment, returning false past its last cell.
+	private boolean nextCell()
+	{
+		if (row < toRow)
+		{
+			row++;
+
+			return true;
+		} else if (column == toColumn)
+		{
+			return false;
+		}
+
+		column++;
+
+		// Range of y of the line segment across the column.
+		double x1 = store.getX1(walked);
+		double y1 = store.getY1(walked);
+		double x2 = store.getX2(walked);
+		double y2 = store.getY2(walked);
+		double low = Math.max(x1, Math.min(x2, column * cellSize));
+		double high = Math.max(x1, Math.min(x2, (column + 1) * cellSize));
+		double yLow = (x1 == x2) ? y1 : y1 + (y2 - y1) * ((low - x1) / (x2 - x1));
+		double yHigh = (x1 == x2) ? y2 : y1 + (y2 - y1) * ((high - x1) / (x2 - x1));
+
+		row = (long) Math.floor((Math.min(yLow, yHigh) - CELL_MARGIN) / cellSize);
+		toRow = (long) Math.floor((Math.max(yLow, yHigh) + CELL_MARGIN) / cellSize);
+
+		return true;
+	}
+
+	// Stores the crossing of line segments a and b in a free slot.
+	private void recordCrossing(double x, double y, int a, int b)
+	{
+		int slot;
+
+		if (freeCrossingCount > 0)
+		{
+			slot = freeCrossings[--freeCrossingCount];
+		} else
+		{
+			if (crossingSlots == crossingSegments.length)
+			{
+				int capacity = crossingSlots + (crossingSlots >> 1);
+				crossingXs = Arrays.copyOf(crossingXs, capacity);
+				crossingYs = Arrays.copyOf(crossingYs, capacity);
+				crossingSegments = Arrays.copyOf(crossingSegments, capacity);
+				crossingIntersectionSegments = Arrays.copyOf(crossingIntersectionSegments, capacity);
+				freeCrossings = Arrays.copyOf(freeCrossings, capacity);
+			}
+
+			slot = crossingSlots++;
+		}
+
+		crossingXs[slot] = x;
+		crossingYs[slot] = y;
+		crossingSegments[slot] = a;
+		crossingIntersectionSegments[slot] = b;
+		pairs.put(EventQueue.pairKey(a, b), slot);
+	}
+
+	/**
+	 * Removes a line segment from the index, dropping its crossings. The line segment stays in the store.
+	 *
+	 * @throws IllegalArgumentException if the line segment is not indexed.
+	 */
+	public void removeSegment(int id)
+	{
+		removeSegment(id, null);
+	}
+
+	/**
+	 * Removes a line segment from the index, dropping its crossings. The line segment stays in the store.
+	 *
+	 * @param sink receives every crossing which vanishes, may be null.
+	 * @throws IllegalArgumentException if the line segment is not indexed.
+	 */
+	public void removeSegment(int id, IntersectionSink sink)
+	{
+		if (!contains(id))
+		{
+			throw new IllegalArgumentException("Line segment " + id + " is not indexed");
+		}
+
+		visit++;
+		startWalk(id);
+
+		while (nextCell())
+		{
+			long cell = PointIndex.cellKey(column, row);
+			int previous = -1;
+			int e = cells.get(cell);
+
+			while (e != -1)
+			{
+				int other = entrySegments[e];
+				int next = nextEntries[e];
+
+				if (other == id)
+				{
+					// Unlinking the entry into the free list.
+					if (previous != -1)
+					{
+						nextEntries[previous] = next;
+					} else if (next != -1)
+					{
+						cells.put(cell, next);
+					} else
+					{
+						cells.remove(cell);
+					}
+
+					nextEntries[e] = freeEntry;
+					freeEntry = e;
+				} else
+				{
+					dropCrossing(id, other, sink);
+					previous = e;
+				}
+
+				e = next;
+			}
+		}
+
+		indexed[id] = false;
+		segmentCount--;
+	}
+
+	// Starts a walk over the cells line segment s passes through, widened by the margin, before its first cell.
+	private void startWalk(int s)
+	{
+		walked = s;
+		column = (long) Math.floor((store.getX1(s) - CELL_MARGIN) / cellSize) - 1;
+		toColumn = (long) Math.floor((store.getX2(s) + CELL_MARGIN) / cellSize);
+		row = 0;
+		toRow = 0;
+	}
+
+	// Tests line segment s against another line segment not visited yet in this update, recording their crossing.
+	private void testCrossing(int s, int other, IntersectionSink sink)
+	{
+		if (visits[other] == visit)
+		{
+			return;
+		}
+
+		visits[other] = visit;
+
+		if (store.intersection(s, other, crossing))
+		{
+			recordCrossing(crossing[0], crossing[1], s, other);
+
+			if (sink != null)
+			{
+				sink.accept(crossing[0], crossing[1], s, other);
+			}
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package bentleyottmann;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Consumer of the points of intersection found by a {@link BentleyOttmann} sweep, which receives each point
+ *         once along with the run of line segments passing through it, instead of every crossing pair of them. This
+ *         keeps the cost of a point linear in the number of its line segments, where the pairs would be quadratic.
+ *         </p>
+ */
+@FunctionalInterface
+public interface IntersectionPointSink
+{
+	/**
+	 * Called when a point of intersection is found.
+	 * 
+	 * @param x        the x-coordinate of the point of intersection.
+	 * @param y        the y-coordinate of the point of intersection.
+	 * @param segments ids of the line segments through the point, from bottom to top just left of it, in a buffer
+	 *                 which is reused for the next point.
+	 * @param count    number of line segments through the point, at the start of the buffer.
+	 */
+	void accept(double x, double y, int[] segments, int count);
+}
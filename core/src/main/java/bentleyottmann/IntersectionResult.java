@@ -0,0 +1,255 @@
+package bentleyottmann;
+
+import java.util.Arrays;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         The crossings found by a sweep, each a pair of line segment ids along with their point of intersection, kept
+ *         in primitive arrays. Being an {@link IntersectionSink}, a result is filled directly by
+ *         {@link BentleyOttmann#findIntersections(IntersectionSink)}.
+ *         </p>
+ *         <p>
+ *         The crossings can also be viewed per point of intersection, each point along with all of the distinct line
+ *         segments through it. This view is built on first use, merging the crossings whose points are equal within
+ *         POINT_EPSILON through a {@link PointIndex}, so it does not depend on the order in which the crossings were
+ *         emitted. The points are in order of their first crossings.
+ *         </p>
+ */
+public class IntersectionResult implements IntersectionSink
+{
+	private static final int MIN_CAPACITY = 16;
+
+	// Crossings, indexed by crossing.
+	private double[] xs, ys; // Point of intersection.
+	private int[] segments, intersectionSegments; // Ids of the crossing line segments.
+	private int size; // current number of crossings
+
+	// Points of intersection, built on demand.
+	private boolean grouped;
+	private PointIndex points; // Distinct points of intersection.
+	private int pointCount;
+	private int[] pointCrossings; // First crossing of each point.
+	private int[] pointStarts; // Start of the line segments of each point in pointSegments, plus an end sentinel.
+	private int[] pointSegments; // Distinct line segments through each point, in ascending order.
+
+	public IntersectionResult()
+	{
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * @param capacity number of crossings the result can hold before growing.
+	 */
+	public IntersectionResult(int capacity)
+	{
+		capacity = Math.max(capacity, MIN_CAPACITY);
+
+		xs = new double[capacity];
+		ys = new double[capacity];
+		segments = new int[capacity];
+		intersectionSegments = new int[capacity];
+	}
+
+	@Override
+	public void accept(double x, double y, int segment, int intersectionSegment)
+	{
+		if (size == xs.length)
+		{
+			grow();
+		}
+
+		xs[size] = x;
+		ys[size] = y;
+		segments[size] = segment;
+		intersectionSegments[size] = intersectionSegment;
+		size++;
+		grouped = false;
+	}
+
+	/**
+	 * Removes every crossing, keeping the storage for reuse.
+	 */
+	public void clear()
+	{
+		size = 0;
+		grouped = false;
+	}
+
+	public int getIntersectionSegment(int crossing)
+	{
+		return intersectionSegments[crossing];
+	}
+
+	/**
+	 * Returns the number of distinct points of intersection.
+	 */
+	public int getPointCount()
+	{
+		group();
+
+		return pointCount;
+	}
+
+	/**
+	 * Returns the index of the first crossing at a point of intersection.
+	 */
+	public int getPointCrossing(int point)
+	{
+		group();
+
+		return pointCrossings[point];
+	}
+
+	public double getPointX(int point)
+	{
+		return xs[getPointCrossing(point)];
+	}
+
+	public double getPointY(int point)
+	{
+		return ys[getPointCrossing(point)];
+	}
+
+	public int getSegment(int crossing)
+	{
+		return segments[crossing];
+	}
+
+	/**
+	 * Returns the j-th of the distinct line segments through a point of intersection, in ascending order of id.
+	 */
+	public int getSegmentAt(int point, int j)
+	{
+		group();
+
+		return pointSegments[pointStarts[point] + j];
+	}
+
+	/**
+	 * Returns the number of distinct line segments through a point of intersection.
+	 */
+	public int getSegmentCountAt(int point)
+	{
+		group();
+
+		return pointStarts[point + 1] - pointStarts[point];
+	}
+
+	/**
+	 * Returns a copy of the ids of the distinct line segments through a point of intersection, in ascending order.
+	 */
+	public int[] getSegmentsAt(int point)
+	{
+		group();
+
+		return Arrays.copyOfRange(pointSegments, pointStarts[point], pointStarts[point + 1]);
+	}
+
+	public double getX(int crossing)
+	{
+		return xs[crossing];
+	}
+
+	public double getY(int crossing)
+	{
+		return ys[crossing];
+	}
+
+	/**
+	 * Groups the crossings into points of intersection, deduplicating their points in O(1) expected time each, and
+	 * collects the distinct line segments of each point, in O(k log k) time for k crossings.
+	 */
+	private void group()
+	{
+		if (grouped)
+		{
+			return;
+		}
+
+		if (pointCrossings == null || pointCrossings.length < size)
+		{
+			pointCrossings = new int[Math.max(size, MIN_CAPACITY)];
+			pointStarts = new int[Math.max(size, MIN_CAPACITY) + 1];
+			pointSegments = new int[2 * Math.max(size, MIN_CAPACITY)];
+			points = new PointIndex(size);
+		}
+
+		points.clear();
+		Arrays.fill(pointStarts, 0);
+
+		// Counting the line segments of each point, two per crossing, into the start of the next point.
+		int[] crossingPoints = new int[size];
+
+		for (int i = 0; i < size; i++)
+		{
+			int count = points.size();
+			int p = points.add(xs[i], ys[i]);
+			crossingPoints[i] = p;
+			pointStarts[p + 1] += 2;
+
+			if (p == count)
+			{
+				pointCrossings[p] = i;
+			}
+		}
+
+		pointCount = points.size();
+
+		for (int p = 0; p < pointCount; p++)
+		{
+			pointStarts[p + 1] += pointStarts[p];
+		}
+
+		int[] fill = Arrays.copyOf(pointStarts, pointCount);
+
+		for (int i = 0; i < size; i++)
+		{
+			pointSegments[fill[crossingPoints[i]]++] = segments[i];
+			pointSegments[fill[crossingPoints[i]]++] = intersectionSegments[i];
+		}
+
+		// Keeping each line segment of a point once, the ranges of the points shrinking towards the front.
+		int length = 0;
+
+		for (int p = 0; p < pointCount; p++)
+		{
+			int from = pointStarts[p];
+			int to = pointStarts[p + 1];
+			int start = length;
+
+			Arrays.sort(pointSegments, from, to);
+
+			for (int k = from; k < to; k++)
+			{
+				if (length == start || pointSegments[k] != pointSegments[length - 1])
+				{
+					pointSegments[length++] = pointSegments[k];
+				}
+			}
+
+			pointStarts[p] = start;
+		}
+
+		pointStarts[pointCount] = length;
+		grouped = true;
+	}
+
+	private void grow()
+	{
+		int capacity = xs.length + (xs.length >> 1);
+
+		xs = Arrays.copyOf(xs, capacity);
+		ys = Arrays.copyOf(ys, capacity);
+		segments = Arrays.copyOf(segments, capacity);
+		intersectionSegments = Arrays.copyOf(intersectionSegments, capacity);
+	}
+
+	/**
+	 * Returns the number of crossings, i.e., of crossing pairs of line segments.
+	 */
+	public int size()
+	{
+		return size;
+	}
+}
@@ -0,0 +1,23 @@
+package bentleyottmann;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Consumer of the crossings found by a {@link BentleyOttmann} sweep, which receives each crossing as soon as
+ *         its event is processed, instead of the sweep accumulating all of them. Crossings are emitted from left to
+ *         right, and when several line segments cross at the same point, once for every pair of them in succession.
+ *         </p>
+ */
+@FunctionalInterface
+public interface IntersectionSink
+{
+	/**
+	 * Called when a crossing is found.
+	 * 
+	 * @param x                   the x-coordinate of the point of intersection.
+	 * @param y                   the y-coordinate of the point of intersection.
+	 * @param segment             id of one of the crossing line segments.
+	 * @param intersectionSegment id of the other crossing line segment.
+	 */
+	void accept(double x, double y, int segment, int intersectionSegment);
+}
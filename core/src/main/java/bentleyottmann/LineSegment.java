@@ -0,0 +1,492 @@
+package bentleyottmann;
+
+/**
+ * @author E. Aguilar
+ * @author S. Peca
+ *         <p>
+ *         A line segment is a 2-tuple of {@link Point} objects, p1 is the begin point, and p2 is the end point, no
+ *         guarantees in order. Line segments can be compared based on whether they are above or below each other using
+ *         the y-coordinates of the points contained within a line segment.
+ *         </p>
+ *         <p>
+ *         The canonical left and right endpoints, the slope and intercept, the bounding box and whether the line
+ *         segment is vertical or horizontal are derived once at construction, so the endpoints must not be moved
+ *         afterwards.
+ *         </p>
+ */
+public class LineSegment
+{
+	private final Point p1; // The begin endpoint.
+	private final Point p2; // The end endpoint.
+	private final Point leftEndpoint; // Leftmost endpoint, or the bottom endpoint if vertical.
+	private final Point rightEndpoint; // Rightmost endpoint, or the top endpoint if vertical.
+
+	// Coordinates of the left and right endpoints.
+	private final double leftX, leftY, rightX, rightY;
+
+	// Bounding box.
+	private final double minX, maxX, minY, maxY;
+
+	// Line through this line segment as y = slope * x + intercept, both are NaN if vertical.
+	private final double slope, intercept;
+
+	private final boolean vertical;
+	private final boolean horizontal;
+
+	private final int layer; // Layer the line segment belongs to, e.g., one of the two sets of a red-blue sweep.
+
+	public LineSegment(Point begin, Point end)
+	{
+		this(begin, end, 0);
+	}
+
+	/**
+	 * @param layer the layer of the line segment, so that a layered sweep only finds crossings between layers.
+	 */
+	public LineSegment(Point begin, Point end, int layer)
+	{
+		this.p1 = begin;
+		this.p2 = end;
+		this.layer = layer;
+
+		vertical = Math.abs(p1.getX() - p2.getX()) < Globals.POINT_EPSILON;
+		horizontal = Math.abs(p1.getY() - p2.getY()) < Globals.POINT_EPSILON;
+
+		if (!vertical)
+		{
+			leftEndpoint = (p1.getX() < p2.getX()) ? p1 : p2;
+		} else
+		{
+			leftEndpoint = (p1.getY() < p2.getY()) ? p1 : p2;
+		}
+
+		rightEndpoint = (leftEndpoint == p1) ? p2 : p1;
+
+		leftX = leftEndpoint.getX();
+		leftY = leftEndpoint.getY();
+		rightX = rightEndpoint.getX();
+		rightY = rightEndpoint.getY();
+
+		minX = Math.min(p1.getX(), p2.getX());
+		maxX = Math.max(p1.getX(), p2.getX());
+		minY = Math.min(p1.getY(), p2.getY());
+		maxY = Math.max(p1.getY(), p2.getY());
+
+		if (!vertical)
+		{
+			slope = (p2.getY() - p1.getY()) / (p2.getX() - p1.getX());
+			intercept = p1.getY() - slope * p1.getX();
+		} else
+		{
+			slope = intercept = Double.NaN;
+		}
+	}
+
+	// Given two collinear line segments, determines if they intersect at more than
+	// one point
+	private boolean collinearIntersects(LineSegment other)
+	{
+		/*
+		 * NOTE: If two line segments share an endpoint, then they are adjacent to each other in the polygon and are
+		 * thus NOT considered intersecting. This method checks if the line segments have any overlap at more than one
+		 * point
+		 */
+
+		// We will use the x-values of the endpoints to determine intersection (and y-values in the case where the line
+		// segments are vertical), through the bounding boxes of the line segments.
+		if (this.vertical)
+		{
+			/*
+			 * For the line segments to intersect, two conditions must hold: 1. The bottom point of this line segment
+			 * must be below the top point of other line segment 2. The bottom point of other line segment must be below
+			 * the top point of this line segment.
+			 */
+			return this.minY < other.maxY && other.minY < this.maxY;
+		} else
+		{
+			/*
+			 * For the line segments to intersect, two conditions must hold: 1. The left point of this line segment must
+			 * be to the left of the right point of other line segment 2. The left point of other line segment must be
+			 * to the left of the right point of this line segment
+			 */
+			return this.minX < other.maxX && other.minX < this.maxX;
+		}
+	}
+
+	public int compareTo(LineSegment other, Point eventPoint)
+	{
+		boolean sameLeft = Math.abs(this.leftX - other.leftX) < Globals.POINT_EPSILON
+				&& Math.abs(this.leftY - other.leftY) < Globals.POINT_EPSILON;
+
+		// Case where line segments are the same, i.e., line segment has been found.
+		if (sameLeft && Math.abs(this.rightX - other.rightX) < Globals.POINT_EPSILON
+				&& Math.abs(this.rightY - other.rightY) < Globals.POINT_EPSILON)
+		{
+			return 0;
+		}
+		// Case where line segments share an exact endpoint.
+		else if (sameLeft)
+		{
+			// Orientation of the right endpoint of other relative to this, from their shared left endpoint.
+			double orientation = Geometry.orientation(this.leftX, this.leftY, this.rightX, this.rightY, other.rightX,
+					other.rightY);
+
+			if (orientation <= 0.0)
+			{
+				return 1;
+			} else
+			{
+				return -1;
+			}
+		}
+		// General case where line segments are compared at their event points with the sweep line.
+		else
+		{
+			double eventX = eventPoint.getX();
+			double eventY = eventPoint.getY();
+
+			// This assumes that both line segments cannot be vertical, i.e., two vertical line segments should not be
+			// intersecting when found by the sweep line.
+			if ((!other.vertical && (eventX < other.leftX || eventX > other.rightX))
+					|| (other.vertical && (other.leftX < this.leftX || other.leftX > this.rightX)))
+			{
+				System.err.println("Warning: Event point that is out of other line segment range "
+						+ "is being used for comparisons, algorithm may not perform correctly.");
+			}
+
+			if (!other.vertical)
+			{
+				// The event point is above other if it lies to the left of other, directed from left to right.
+				double side = Geometry.orientation(other.leftX, other.leftY, other.rightX, other.rightY, eventX,
+						eventY);
+
+				if (side == 0.0)
+				{
+					double orientation = Geometry.orientation(eventX, eventY, this.rightX, this.rightY, other.rightX,
+							other.rightY);
+
+					if (this.crossesAt(other, eventX, eventY))
+					{
+						if (orientation <= 0.0)
+						{
+							return -1;
+						} else
+						{
+							return 1;
+						}
+					} else
+					{
+						if (orientation <= 0.0)
+						{
+							return 1;
+						} else
+						{
+							return -1;
+						}
+					}
+				} else if (side > 0.0)
+				{
+					return 1;
+				} else
+				{
+					return -1;
+				}
+			} else if (this.vertical)
+			{
+				// Vertical line segments overlap, the one reaching higher is above.
+				if (this.rightY >= other.rightY)
+				{
+					return 1;
+				} else
+				{
+					return -1;
+				}
+			} else
+			{
+				// Along the sweep line, a vertical line segment through the event point reaches past it, so it is
+				// above every line segment starting there.
+				if (other.rightY < eventY)
+				{
+					return 1;
+				} else
+				{
+					return -1;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determines whether this and another line segment cross at a single point, without allocating anything. This is
+	 * the boolean-only counterpart of {@link #getIntersectionPointWith(LineSegment)}.
+	 * 
+	 * @param other The other line segment
+	 * @return true if the line segments intersect at a point which is not a shared endpoint and they are not collinear.
+	 */
+	public boolean crosses(LineSegment other)
+	{
+		return !this.isCollinearTo(other) && this.intersects(other, false);
+	}
+
+	// Checks if this and another line segment cross at the point (px, py).
+	private boolean crossesAt(LineSegment other, double px, double py)
+	{
+		if (!this.crosses(other))
+		{
+			return false;
+		}
+
+		double x = this.intersectionXWith(other);
+
+		return Math.abs(x - px) < Globals.POINT_EPSILON
+				&& Math.abs(this.intersectionYWith(other, x) - py) < Globals.POINT_EPSILON;
+	}
+
+	/**
+	 * Calculates the point of intersection between this and another line segment, but will return null if the line
+	 * segments do not intersect or are collinear. Note that line segments that share just an endpoint are not
+	 * considered intersecting.
+	 * 
+	 * @param other The other line segment
+	 * @return The point where this and the other line segment intersect.
+	 */
+	public Point getIntersectionPointWith(LineSegment other)
+	{
+		if (!this.crosses(other))
+		{
+			return null;
+		} else
+		{
+			double x = this.intersectionXWith(other);
+
+			return new Point(x, this.intersectionYWith(other, x));
+		}
+	}
+
+	/**
+	 * Calculates the point of intersection between this and another line segment without allocating, writing its
+	 * coordinates into a caller supplied buffer.
+	 * 
+	 * @param other        The other line segment
+	 * @param intersection Buffer of at least two elements, receives x at index 0 and y at index 1 when the line
+	 *                     segments intersect, and is left untouched otherwise.
+	 * @return true if the line segments intersect, under the same rules as
+	 *         {@link #getIntersectionPointWith(LineSegment)}.
+	 */
+	public boolean getIntersectionPointWith(LineSegment other, double[] intersection)
+	{
+		if (!this.crosses(other))
+		{
+			return false;
+		}
+
+		double x = this.intersectionXWith(other);
+		intersection[0] = x;
+		intersection[1] = this.intersectionYWith(other, x);
+
+		return true;
+	}
+
+	/**
+	 * Returns the intercept of the line through this line segment, or NaN if it is vertical.
+	 */
+	public double getIntercept()
+	{
+		return intercept;
+	}
+
+	public int getLayer()
+	{
+		return layer;
+	}
+
+	public Point getLeftEndpoint()
+	{
+		return leftEndpoint;
+	}
+
+	public double getMaxX()
+	{
+		return maxX;
+	}
+
+	public double getMaxY()
+	{
+		return maxY;
+	}
+
+	public double getMinX()
+	{
+		return minX;
+	}
+
+	public double getMinY()
+	{
+		return minY;
+	}
+
+	public Point getP1()
+	{
+		return p1;
+	}
+
+	public Point getP2()
+	{
+		return p2;
+	}
+
+	public Point getRightEndpoint()
+	{
+		return rightEndpoint;
+	}
+
+	/**
+	 * Returns the slope of the line through this line segment, or NaN if it is vertical.
+	 */
+	public double getSlope()
+	{
+		return slope;
+	}
+
+	// Calculates the x-coordinate where the lines through this and another non-parallel line segment meet.
+	private double intersectionXWith(LineSegment other)
+	{
+		if (this.vertical)
+		{
+			return p1.getX();
+		} else if (other.vertical)
+		{
+			return other.p1.getX();
+		}
+
+		return (other.intercept - this.intercept) / (this.slope - other.slope);
+	}
+
+	// Calculates the y-coordinate at x of the line through whichever of this and another line segment is not vertical.
+	private double intersectionYWith(LineSegment other, double x)
+	{
+		LineSegment s = this.vertical ? other : this;
+
+		return s.slope * x + s.intercept;
+	}
+
+	/*
+	 * Checks for line segment intersection.
+	 */
+	public boolean intersects(LineSegment other)
+	{
+		return intersects(other, this.isCollinearTo(other));
+	}
+
+	// Checks for line segment intersection, given whether the line segments are collinear.
+	private boolean intersects(LineSegment other, boolean collinear)
+	{
+		/*
+		 * There are two cases 1. The line segments are collinear. In this case, we check if the line segments intersect
+		 * by comparing their x-values (if the right endpoint of the leftmost line segment is to the left of the left
+		 * endpoint of the rightmost line segment, then the segments do not intersect) 2. The two line segments are not
+		 * collinear. In this case, we need to check that both line segments straddle each other (i.e. the directions
+		 * from one line segment to the two endpoints of the other line segment are opposites). NOTE: If the line
+		 * segments intersect at exactly one endpoint, then this means that they are adjacent to each other in the
+		 * polygon, and so for the purposes of this method, we will consider them not intersecting. In the case where
+		 * two line segments share an endpoint.
+		 */
+
+		// First we check if the line segments share an endpoint.
+		if (Geometry.coincide(this.leftX, this.leftY, other.leftX, other.leftY)
+				|| Geometry.coincide(this.leftX, this.leftY, other.rightX, other.rightY)
+				|| Geometry.coincide(this.rightX, this.rightY, other.leftX, other.leftY)
+				|| Geometry.coincide(this.rightX, this.rightY, other.rightX, other.rightY))
+		{
+			/*
+			 * The only way for these two line segments to intersect (at any point besides the point they share) is for
+			 * them to be collinear and have some overlap. Thus we check for collinearity (if their cross product is
+			 * zero, then they are collinear)
+			 */
+			if (collinear)
+			{
+				return collinearIntersects(other);
+			} else
+			{
+				// If the adjacent line segments are not collinear, then they cannot intersect
+				return false;
+			}
+		}
+
+		// The line segments do not share an endpoint. They are parallel if their cross
+		// product is zero
+		if (collinear)
+		{
+			return collinearIntersects(other);
+		} else
+		{
+			// If the line segments are not collinear, we check if both line segments
+			// straddle each other.
+			// If so, then they intersect, otherwise, they do not.
+			if (this.straddles(other) && other.straddles(this))
+				return true;
+
+			return false;
+		}
+	}
+
+	// Checks if two line segments are collinear
+	private boolean isCollinearTo(LineSegment other)
+	{
+		/*
+		 * This method has two parts: 1. We check if the two endpoints of this line segment are collinear with p1 of
+		 * other line segment, 2. We check if the two endpoints of this line segment are collinear with p2 of other line
+		 * segment. To check if three points are collinear, we find their orientation, which is exactly zero if and only
+		 * if the points are collinear
+		 */
+
+		return Geometry.orientation(leftX, leftY, rightX, rightY, other.leftX, other.leftY) == 0.0
+				&& Geometry.orientation(leftX, leftY, rightX, rightY, other.rightX, other.rightY) == 0.0;
+	}
+
+	public boolean isHorizontal()
+	{
+		return horizontal;
+	}
+
+	public boolean isVertical()
+	{
+		return vertical;
+	}
+
+	public double length()
+	{
+		return Math.sqrt(Math.pow(p1.getX() - p2.getX(), 2) + Math.pow(p1.getY() - p2.getY(), 2));
+	}
+
+	// Checks if an line segment straddles another (i.e. the directions from one
+	// line segment to the two endpoints of the other line segment are opposites).
+	private boolean straddles(LineSegment other)
+	{
+		/*
+		 * We use three vectors in question: 1. The vector from the first point of "this" line segment to the first
+		 * point of other line segment, 2. The vector from the first point of "this" line segment to the last point of
+		 * other line segment, 3. This line segment we take the orientation of vector (1) and of vector (2) relative to
+		 * vector (3), whose signs are exact. If they have the same sign (or if one of them is 0), then this line
+		 * segment does not "straddle" the other line segment.
+		 */
+
+		double orientationWithFirstPoint = Geometry.orientation(this.leftX, this.leftY, this.rightX, this.rightY,
+				other.leftX, other.leftY);
+		double orientationWithLastPoint = Geometry.orientation(this.leftX, this.leftY, this.rightX, this.rightY,
+				other.rightX, other.rightY);
+
+		if ((orientationWithFirstPoint < 0.0 && orientationWithLastPoint > 0.0)
+				|| (orientationWithFirstPoint > 0.0 && orientationWithLastPoint < 0.0))
+		{
+			return true;
+		}
+
+		return false;
+	}
+
+	public String toString()
+	{
+		return "LineSegment: {" + p1 + ", " + p2 + "}";
+	}
+}
\ No newline at end of file
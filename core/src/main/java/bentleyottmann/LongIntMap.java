@@ -0,0 +1,222 @@
+package bentleyottmann;
+
+import java.util.Arrays;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Open-addressing hash map from long keys to int values, held in two primitive arrays with linear probing, so
+ *         that no objects are allocated per entry. Absent keys are answered with a missing value chosen at
+ *         construction, e.g., -1 for maps of handles or indices.
+ *         </p>
+ *         <p>
+ *         The table is kept at most half full and doubles when it fills up. Removal shifts the following entries of
+ *         the probe run back into the vacated slot, so no tombstones build up under repeated insertion and removal.
+ *         </p>
+ */
+public class LongIntMap
+{
+	private static final int MIN_CAPACITY = 16;
+	private static final long FREE = 0L; // Key of free slots, the key 0 itself is held aside.
+
+	private long[] keys;
+	private int[] values;
+	private int mask; // Capacity minus one, the capacity being a power of two.
+	private int shift; // Shift taking a mixed 64-bit hash down to a slot.
+	private int size; // current number of entries, apart from the key 0
+
+	private boolean hasFreeKey; // Whether the key 0 is present, with its value in freeValue.
+	private int freeValue;
+	private final int missing; // Value returned for absent keys.
+
+	public LongIntMap(int missing)
+	{
+		this(MIN_CAPACITY, missing);
+	}
+
+	/**
+	 * @param expectedSize number of entries the map can hold before growing.
+	 * @param missing      value returned for absent keys.
+	 */
+	public LongIntMap(int expectedSize, int missing)
+	{
+		int capacity = Integer.highestOneBit(Math.max(2 * expectedSize, MIN_CAPACITY) - 1) << 1;
+
+		this.missing = missing;
+		allocate(capacity);
+	}
+
+	private void allocate(int capacity)
+	{
+		keys = new long[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		shift = 64 - Integer.numberOfTrailingZeros(capacity);
+	}
+
+	/**
+	 * Removes every entry, keeping the table for reuse.
+	 */
+	public void clear()
+	{
+		// An empty table, e.g., that of a queue drained by a sweep, is left as it is.
+		if (size > 0)
+		{
+			Arrays.fill(keys, FREE);
+		}
+
+		size = 0;
+		hasFreeKey = false;
+	}
+
+	public boolean containsKey(long key)
+	{
+		return (key == FREE) ? hasFreeKey : keys[find(key)] != FREE;
+	}
+
+	// Returns the slot holding a key, or the free slot ending its probe run.
+	private int find(long key)
+	{
+		int i = slotOf(key);
+
+		while (keys[i] != FREE && keys[i] != key)
+		{
+			i = (i + 1) & mask;
+		}
+
+		return i;
+	}
+
+	/**
+	 * Returns the value of a key, or the missing value if the key is absent.
+	 */
+	public int get(long key)
+	{
+		if (key == FREE)
+		{
+			return hasFreeKey ? freeValue : missing;
+		}
+
+		int i = find(key);
+
+		return (keys[i] != FREE) ? values[i] : missing;
+	}
+
+	public int getMissingValue()
+	{
+		return missing;
+	}
+
+	// Doubles the table, re-inserting every entry.
+	private void grow()
+	{
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+
+		allocate(2 * keys.length);
+
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			if (oldKeys[i] != FREE)
+			{
+				int j = find(oldKeys[i]);
+				keys[j] = oldKeys[i];
+				values[j] = oldValues[i];
+			}
+		}
+	}
+
+	/**
+	 * Maps a key to a value, replacing any previous value.
+	 *
+	 * @return the previous value of the key, or the missing value if it was absent.
+	 */
+	public int put(long key, int value)
+	{
+		if (key == FREE)
+		{
+			int previous = hasFreeKey ? freeValue : missing;
+			hasFreeKey = true;
+			freeValue = value;
+
+			return previous;
+		}
+
+		int i = find(key);
+
+		if (keys[i] != FREE)
+		{
+			int previous = values[i];
+			values[i] = value;
+
+			return previous;
+		}
+
+		keys[i] = key;
+		values[i] = value;
+
+		if (2 * ++size > keys.length)
+		{
+			grow();
+		}
+
+		return missing;
+	}
+
+	/**
+	 * Removes a key, shifting back the entries which follow it in its probe run.
+	 *
+	 * @return the value of the key, or the missing value if it was absent.
+	 */
+	public int remove(long key)
+	{
+		if (key == FREE)
+		{
+			int previous = hasFreeKey ? freeValue : missing;
+			hasFreeKey = false;
+
+			return previous;
+		}
+
+		int i = find(key);
+
+		if (keys[i] == FREE)
+		{
+			return missing;
+		}
+
+		int previous = values[i];
+
+		for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask)
+		{
+			// An entry may only move back to i if its home slot does not lie cyclically between i and j.
+			int home = slotOf(keys[j]);
+
+			if ((j > i) ? (home <= i || home > j) : (home <= i && home > j))
+			{
+				keys[i] = keys[j];
+				values[i] = values[j];
+				i = j;
+			}
+		}
+
+		keys[i] = FREE;
+		size--;
+
+		return previous;
+	}
+
+	/**
+	 * Returns the number of entries.
+	 */
+	public int size()
+	{
+		return size + (hasFreeKey ? 1 : 0);
+	}
+
+	// Returns the home slot of a key, from the high bits of the key multiplied by the golden ratio.
+	private int slotOf(long key)
+	{
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+	}
+}
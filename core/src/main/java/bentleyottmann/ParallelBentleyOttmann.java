@@ -0,0 +1,346 @@
+package bentleyottmann;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Sweep which splits the x-range of the line segments into vertical slabs holding about the same share of the
+ *         line segments, each one counted by the fraction of its x-extent within the slab, and runs an independent
+ *         {@link BentleyOttmann} sweep for each slab on the workers of a {@link ForkJoinPool}. Long line segments and
+ *         nearly parallel ones spanning most of the range thus spread over the slabs instead of piling into one.
+ *         </p>
+ *         <p>
+ *         Each slab receives the whole line segments overlapping it, in a store of the same kind as the swept one,
+ *         since clipping them would move their endpoints and with them the lines the exact predicates are evaluated
+ *         on. The sweep of a slab starts at its left boundary, with the line segments crossing the boundary already in
+ *         the sweep line status in their exact order there, and stops at its right boundary, so it only processes the
+ *         events within its half-open range [low, high). A crossing on a seam between slabs belongs to the slab to
+ *         its right, so every crossing is reported exactly once. The points of intersection are the same as those
+ *         of a single sweep, and the crossings are emitted from left to right. In layered mode every slab is swept in
+ *         layered mode, see {@link BentleyOttmann#setLayered(boolean)}.
+ *         </p>
+ */
+public class ParallelBentleyOttmann
+{
+	private static final int BINS_PER_SLAB = 64; // Bins the weights of the line segments are summed over, per slab.
+
+	// Returns the slab containing x, i.e., the number of boundaries at or before x.
+	private static int slabOf(double[] boundaries, double x)
+	{
+		return slabOf(boundaries, boundaries.length, x);
+	}
+
+	// Returns the slab containing x among the first count boundaries.
+	private static int slabOf(double[] boundaries, int count, double x)
+	{
+		int low = 0;
+		int high = count;
+
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+
+			if (boundaries[mid] <= x)
+			{
+				low = mid + 1;
+			} else
+			{
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+
+	private SegmentStore store;
+	private ForkJoinPool pool;
+	private int slabs; // Number of slabs requested, fewer are used when endpoints share x-coordinates.
+	private boolean layered; // Whether the sweeps of the slabs are layered.
+
+	public ParallelBentleyOttmann(List<LineSegment> segments)
+	{
+		this(SegmentStore.of(segments));
+	}
+
+	/**
+	 * Creates a sweep running on the common pool, with one slab per worker.
+	 */
+	public ParallelBentleyOttmann(SegmentStore store)
+	{
+		this(store, ForkJoinPool.commonPool(), ForkJoinPool.commonPool().getParallelism());
+	}
+
+	/**
+	 * @param store the line segments to be swept, ids of the line segments are used in the reported crossings.
+	 * @param pool  the pool running the sweeps of the slabs.
+	 * @param slabs number of slabs, typically the parallelism of the pool.
+	 */
+	public ParallelBentleyOttmann(SegmentStore store, ForkJoinPool pool, int slabs)
+	{
+		this.store = store;
+		this.pool = pool;
+		this.slabs = Math.max(slabs, 1);
+	}
+
+	/**
+	 * Runs the sweeps of all slabs, collecting every crossing pair of line segments along with its point of
+	 * intersection.
+	 *
+	 * @return the crossings, from left to right.
+	 */
+	public IntersectionResult findIntersectingPairs()
+	{
+		double[] boundaries = getSlabBoundaries();
+		int slabCount = boundaries.length + 1;
+		int segmentCount = store.size();
+
+		// Line segments of each slab, slab i holding slabSegments[starts[i]] up to slabSegments[starts[i + 1]].
+		int[] starts = new int[slabCount + 1];
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			for (int i = slabOf(boundaries, store.getX1(s)); i <= slabOf(boundaries, store.getX2(s)); i++)
+			{
+				starts[i + 1]++;
+			}
+		}
+
+		for (int i = 0; i < slabCount; i++)
+		{
+			starts[i + 1] += starts[i];
+		}
+
+		int[] fill = Arrays.copyOf(starts, slabCount);
+		int[] slabSegments = new int[starts[slabCount]];
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			for (int i = slabOf(boundaries, store.getX1(s)); i <= slabOf(boundaries, store.getX2(s)); i++)
+			{
+				slabSegments[fill[i]++] = s;
+			}
+		}
+
+		ArrayList<ForkJoinTask<IntersectionResult>> tasks = new ArrayList<>(slabCount);
+
+		for (int i = 0; i < slabCount; i++)
+		{
+			double low = (i == 0) ? Double.NEGATIVE_INFINITY : boundaries[i - 1];
+			double high = (i == slabCount - 1) ? Double.POSITIVE_INFINITY : boundaries[i];
+			int[] ids = Arrays.copyOfRange(slabSegments, starts[i], starts[i + 1]);
+
+			tasks.add(pool.submit(() -> sweepSlab(ids, low, high)));
+		}
+
+		// Joining the slabs from left to right keeps the crossings in order.
+		IntersectionResult result = new IntersectionResult();
+
+		for (ForkJoinTask<IntersectionResult> task : tasks)
+		{
+			IntersectionResult slabResult = task.join();
+
+			for (int i = 0; i < slabResult.size(); i++)
+			{
+				result.accept(slabResult.getX(i), slabResult.getY(i), slabResult.getSegment(i),
+						slabResult.getIntersectionSegment(i));
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Runs the sweeps of all slabs, collecting every point of intersection once.
+	 *
+	 * @return the points of intersection, from left to right.
+	 */
+	public List<Point> findIntersections()
+	{
+		IntersectionResult result = findIntersectingPairs();
+		ArrayList<Point> intersections = new ArrayList<>(result.getPointCount());
+
+		for (int i = 0; i < result.getPointCount(); i++)
+		{
+			intersections.add(new Point(result.getPointX(i), result.getPointY(i)));
+		}
+
+		return intersections;
+	}
+
+	/**
+	 * Runs the sweeps of all slabs, then emits every crossing to a sink from the calling thread, so the sink does not
+	 * need to be thread-safe.
+	 *
+	 * @param sink receives every crossing pair of line segments, with their point of intersection.
+	 */
+	public void findIntersections(IntersectionSink sink)
+	{
+		IntersectionResult result = findIntersectingPairs();
+
+		for (int i = 0; i < result.size(); i++)
+		{
+			sink.accept(result.getX(i), result.getY(i), result.getSegment(i), result.getIntersectionSegment(i));
+		}
+	}
+
+	public SegmentStore getSegmentStore()
+	{
+		return store;
+	}
+
+	/**
+	 * Computes the x-coordinates separating the slabs, at quantiles of the x-extents of the line segments, each line
+	 * segment weighing one spread evenly over its x-extent, so that each slab holds about the same share of them.
+	 * The weights are summed over bins whose edges are quantiles of the endpoints, and interpolated within them.
+	 * Boundaries falling on the same x-coordinate are merged.
+	 *
+	 * @return the boundaries in ascending order, one fewer than the number of slabs.
+	 */
+	public double[] getSlabBoundaries()
+	{
+		int segmentCount = store.size();
+		double[] endpoints = new double[2 * segmentCount];
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			endpoints[2 * s] = store.getX1(s);
+			endpoints[2 * s + 1] = store.getX2(s);
+		}
+
+		Arrays.sort(endpoints);
+
+		// Edges of the bins, at distinct quantiles of the endpoints, from the lowest to the highest.
+		int binCount = Math.min(endpoints.length, BINS_PER_SLAB * slabs);
+		double[] edges = new double[binCount + 1];
+		int edgeCount = 0;
+
+		for (int i = 0; i <= binCount && endpoints.length > 0; i++)
+		{
+			double edge = endpoints[(int) Math.min((long) i * endpoints.length / binCount, endpoints.length - 1)];
+
+			if (edgeCount == 0 || edge > edges[edgeCount - 1])
+			{
+				edges[edgeCount++] = edge;
+			}
+		}
+
+		// Weight of each bin, and changes of the density of the line segments fully spanning bins, by bin.
+		double[] weights = new double[Math.max(edgeCount - 1, 1)];
+		double[] densities = new double[weights.length + 1];
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			double x1 = store.getX1(s);
+			double x2 = store.getX2(s);
+			int first = Math.min(Math.max(slabOf(edges, edgeCount, x1) - 1, 0), weights.length - 1);
+			int last = Math.min(Math.max(slabOf(edges, edgeCount, x2) - 1, 0), weights.length - 1);
+
+			if (first == last)
+			{
+				weights[first]++;
+			} else
+			{
+				double density = 1.0 / (x2 - x1);
+
+				weights[first] += (edges[first + 1] - x1) * density;
+				weights[last] += (x2 - edges[last]) * density;
+				densities[first + 1] += density;
+				densities[last] -= density;
+			}
+		}
+
+		double density = 0.0;
+		double total = 0.0;
+
+		for (int i = 0; i < weights.length; i++)
+		{
+			density += densities[i];
+
+			if (edgeCount > 1)
+			{
+				weights[i] += density * (edges[i + 1] - edges[i]);
+			}
+
+			total += weights[i];
+		}
+
+		double[] boundaries = new double[slabs - 1];
+		int count = 0;
+		int bin = 0;
+		double before = 0.0; // Total weight of the bins before bin.
+
+		for (int i = 1; i < slabs && edgeCount > 1; i++)
+		{
+			double target = total * i / slabs;
+
+			while (bin < weights.length - 1 && before + weights[bin] < target)
+			{
+				before += weights[bin++];
+			}
+
+			double fraction = (weights[bin] > 0.0) ? Math.min(Math.max((target - before) / weights[bin], 0.0), 1.0)
+					: 0.0;
+			double boundary = edges[bin] + (edges[bin + 1] - edges[bin]) * fraction;
+
+			if (count == 0 || boundary > boundaries[count - 1])
+			{
+				boundaries[count++] = boundary;
+			}
+		}
+
+		return Arrays.copyOf(boundaries, count);
+	}
+
+	public int getSlabs()
+	{
+		return slabs;
+	}
+
+	public boolean isLayered()
+	{
+		return layered;
+	}
+
+	/**
+	 * Switches layered mode, in which only the crossings between line segments of different layers are found. Each
+	 * layer must be free of crossings of its own, as for a single layered sweep.
+	 */
+	public void setLayered(boolean layered)
+	{
+		this.layered = layered;
+	}
+
+	public void setSlabs(int slabs)
+	{
+		this.slabs = Math.max(slabs, 1);
+	}
+
+	/**
+	 * Sweeps a single slab [low, high) from its left boundary, keeping the crossings within it under the ids of the
+	 * original store.
+	 */
+	private IntersectionResult sweepSlab(int[] ids, double low, double high)
+	{
+		IntersectionResult result = new IntersectionResult();
+		BentleyOttmann sweep = new BentleyOttmann(store.copyOf(ids));
+
+		sweep.setLayered(layered);
+
+		// Crossings before the slab belong to the slabs to its left, so the sweep starts at its left boundary with the
+		// line segments crossing it, and those past it to the slabs to its right, so the sweep stops at its right one.
+		if (low != Double.NEGATIVE_INFINITY)
+		{
+			sweep.startAt(low);
+		}
+
+		sweep.findIntersections((x, y, segment, intersectionSegment) -> result.accept(x, y, ids[segment],
+				ids[intersectionSegment]), high);
+
+		return result;
+	}
+}
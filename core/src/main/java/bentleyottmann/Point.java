@@ -0,0 +1,98 @@
+package bentleyottmann;
+
+/**
+ * @author E. Aguilar
+ */
+public class Point
+{
+	private double x;
+	private double y;
+
+	public Point()
+	{
+		x = y = 0;
+	}
+
+	public Point(double x1, double y1)
+	{
+		x = x1;
+		y = y1;
+	}
+
+	/**
+	 * Calculates distance between this point and point <code>p</code>.
+	 *
+	 * @param p Point object
+	 *
+	 * @return distance between this point and point p
+	 */
+	public double distance(Point p)
+	{
+		return Math.sqrt(Math.pow(this.x - p.x, 2) + Math.pow(this.y - p.y, 2));
+	}
+
+	/**
+	 * Checks if this point is equal to another one within POINT_EPSILON along each axis. This tolerance is not
+	 * transitive, so it is kept out of {@link #equals(Object)}, a {@link PointIndex} deduplicates points under it in
+	 * O(1) expected time.
+	 *
+	 * @param other Point object
+	 *
+	 * @return true if the points coincide
+	 */
+	public boolean coincides(Point other)
+	{
+		return Geometry.coincide(x, y, other.x, other.y);
+	}
+
+	/**
+	 * Checks if another object is a point with exactly the same coordinates, consistently with {@link #hashCode()},
+	 * so that points can be used as keys of hash-based collections. See {@link #coincides(Point)} for equality within
+	 * POINT_EPSILON.
+	 */
+	@Override
+	public boolean equals(Object other)
+	{
+		if (!(other instanceof Point))
+		{
+			return false;
+		}
+
+		Point otherPoint = (Point) other;
+		return Double.compare(this.x, otherPoint.x) == 0 && Double.compare(this.y, otherPoint.y) == 0;
+	}
+
+	public double getX()
+	{
+		return x;
+	}
+
+	public double getY()
+	{
+		return y;
+	}
+
+	/**
+	 * Hashes the exact coordinates, as compared by {@link #equals(Object)}.
+	 */
+	@Override
+	public int hashCode()
+	{
+		return 31 * Double.hashCode(x) + Double.hashCode(y);
+	}
+
+	public void setX(double d)
+	{
+		x = d;
+	}
+
+	public void setY(double d)
+	{
+		y = d;
+	}
+
+	public String toString()
+	{
+		return "Point: (" + x + ", " + y + ")";
+	}
+}
\ No newline at end of file
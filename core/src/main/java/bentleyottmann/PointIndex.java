@@ -0,0 +1,178 @@
+package bentleyottmann;
+
+import java.util.Arrays;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Set of distinct points under the tolerance of {@link Point#coincides(Point)}, for deduplicating points in
+ *         O(1) expected time. The plane is divided into square cells POINT_EPSILON wide, keyed in a
+ *         {@link LongIntMap}, so a point equal to another one lies in the same cell or in one of its eight neighbouring
+ *         cells, which are all probed. The points of a cell are chained through their indices. A hash set of points
+ *         only merges points with exactly the same coordinates, as compared by {@link Point#equals(Object)}.
+ *         </p>
+ *         <p>
+ *         Equality within a tolerance is not transitive, so a point is merged into the first point added that is
+ *         equal to it, which then represents all of the points merged into it.
+ *         </p>
+ */
+public class PointIndex
+{
+	private static final int MIN_CAPACITY = 16;
+	// Largest absolute coordinate kept in the grid, 2^62 cells away from the origin.
+	private static final double MAX_GRID_COORDINATE = 0x1p62 * Globals.POINT_EPSILON;
+
+	/**
+	 * Computes the key of the grid cell (cellX, cellY).
+	 */
+	static long cellKey(long cellX, long cellY)
+	{
+		return cellX * 0x9E3779B97F4A7C15L + cellY;
+	}
+
+	/**
+	 * Returns the row or column of the grid cell containing a coordinate. The cells are POINT_EPSILON wide, so any
+	 * two points that are equal lie within neighbouring cells of each other. Beyond MAX_GRID_COORDINATE, where
+	 * doubles are further apart than POINT_EPSILON and a coordinate is only equal to itself, the cell is instead given
+	 * by the bits of the coordinate, which lie beyond every cell of the grid, so that the neighbouring cells never
+	 * overflow.
+	 */
+	static long cellOf(double coordinate)
+	{
+		if (Math.abs(coordinate) < MAX_GRID_COORDINATE)
+		{
+			return (long) Math.floor(coordinate / Globals.POINT_EPSILON);
+		}
+
+		return (coordinate > 0) ? Double.doubleToLongBits(coordinate) : -Double.doubleToLongBits(-coordinate);
+	}
+
+	// Distinct points, indexed in order of addition.
+	private double[] xs, ys;
+	private int[] nextInCell; // Next point in the same cell, or -1.
+	private int size; // current number of points
+
+	private LongIntMap cells; // Last point added to each cell, heading its chain.
+
+	public PointIndex()
+	{
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * @param capacity number of distinct points the index can hold before growing.
+	 */
+	public PointIndex(int capacity)
+	{
+		capacity = Math.max(capacity, MIN_CAPACITY);
+
+		xs = new double[capacity];
+		ys = new double[capacity];
+		nextInCell = new int[capacity];
+		cells = new LongIntMap(capacity, -1);
+	}
+
+	/**
+	 * Adds a point, unless an equal point is already present.
+	 *
+	 * @return the index of the equal point already present, or else of the added point, which is then the previous
+	 *         size of the index.
+	 */
+	public int add(double x, double y)
+	{
+		int found = find(x, y);
+
+		if (found != -1)
+		{
+			return found;
+		}
+
+		if (size == xs.length)
+		{
+			grow();
+		}
+
+		int i = size++;
+		xs[i] = x;
+		ys[i] = y;
+		nextInCell[i] = cells.put(cellKey(cellOf(x), cellOf(y)), i);
+
+		return i;
+	}
+
+	public int add(Point p)
+	{
+		return add(p.getX(), p.getY());
+	}
+
+	/**
+	 * Removes every point, keeping the storage for reuse.
+	 */
+	public void clear()
+	{
+		size = 0;
+		cells.clear();
+	}
+
+	/**
+	 * Finds a point equal to (x, y), by probing the cell of (x, y) and its neighbouring cells.
+	 *
+	 * @return the index of the point, or -1 if there is none.
+	 */
+	public int find(double x, double y)
+	{
+		long cellX = cellOf(x);
+		long cellY = cellOf(y);
+
+		for (long i = cellX - 1; i <= cellX + 1; i++)
+		{
+			for (long j = cellY - 1; j <= cellY + 1; j++)
+			{
+				for (int p = cells.get(cellKey(i, j)); p != -1; p = nextInCell[p])
+				{
+					if (Geometry.coincide(xs[p], ys[p], x, y))
+					{
+						return p;
+					}
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	public double getX(int i)
+	{
+		return xs[i];
+	}
+
+	public double getY(int i)
+	{
+		return ys[i];
+	}
+
+	private void grow()
+	{
+		int capacity = xs.length + (xs.length >> 1);
+
+		xs = Arrays.copyOf(xs, capacity);
+		ys = Arrays.copyOf(ys, capacity);
+		nextInCell = Arrays.copyOf(nextInCell, capacity);
+	}
+
+	/**
+	 * Returns the number of distinct points.
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Creates a {@link Point} object with the coordinates of a point of the index.
+	 */
+	public Point toPoint(int i)
+	{
+		return new Point(xs[i], ys[i]);
+	}
+}
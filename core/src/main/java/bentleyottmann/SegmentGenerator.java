@@ -0,0 +1,219 @@
+package bentleyottmann;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Generators of sets of line segments within the square [0, range] x [0, range], used to exercise and measure
+ *         the sweep on inputs with different shapes. Every generator is deterministic for a given {@link Random}.
+ *         </p>
+ */
+public final class SegmentGenerator
+{
+	/**
+	 * Generates small groups of line segments, each made of random chords of a circle which mostly cross each other,
+	 * scattered over the range along with as many short isolated line segments, modelling inputs made of mostly
+	 * disjoint clusters.
+	 *
+	 * @param clusterSize number of line segments per group.
+	 */
+	public static List<LineSegment> clustered(int count, int clusterSize, double range, double radius, Random rand)
+	{
+		ArrayList<LineSegment> segments = new ArrayList<>(count);
+
+		while (segments.size() < count)
+		{
+			double cx = radius + (range - 2 * radius) * rand.nextDouble();
+			double cy = radius + (range - 2 * radius) * rand.nextDouble();
+
+			for (int i = 0; i < clusterSize && segments.size() < count; i++)
+			{
+				double a1 = 2 * Math.PI * rand.nextDouble();
+				double a2 = 2 * Math.PI * rand.nextDouble();
+
+				segments.add(new LineSegment(new Point(cx + radius * Math.cos(a1), cy + radius * Math.sin(a1)),
+						new Point(cx + radius * Math.cos(a2), cy + radius * Math.sin(a2))));
+			}
+
+			for (int i = 0; i < clusterSize && segments.size() < count; i++)
+			{
+				double x1 = range * rand.nextDouble();
+				double y1 = range * rand.nextDouble();
+				double x2 = uniformNear(x1, range, radius * 0.1, rand);
+				double y2 = uniformNear(y1, range, radius * 0.1, rand);
+
+				segments.add(new LineSegment(new Point(x1, y1), new Point(x2, y2)));
+			}
+		}
+
+		return segments;
+	}
+
+	/**
+	 * Generates a square lattice of cells, each holding a cross made of its two diagonals shrunk towards its center,
+	 * so that the line segments share x-coordinates column by column and cross exactly once per cell.
+	 *
+	 * @param count number of line segments, rounded down to an even number.
+	 */
+	public static List<LineSegment> grid(int count, double range, Random rand)
+	{
+		ArrayList<LineSegment> segments = new ArrayList<>(count);
+		int cells = count / 2;
+		int side = (int) Math.ceil(Math.sqrt(cells));
+		double width = range / side;
+		double margin = width * 0.1;
+
+		for (int i = 0; i < cells; i++)
+		{
+			double x0 = (i % side) * width + margin;
+			double y0 = (i / side) * width + margin;
+			double x1 = x0 + width - 2 * margin;
+			double y1 = y0 + width - 2 * margin;
+			// Skew the cross so its crossing is not always at the center of the cell.
+			double skew = margin * rand.nextDouble();
+
+			segments.add(new LineSegment(new Point(x0, y0 + skew), new Point(x1, y1)));
+			segments.add(new LineSegment(new Point(x0, y1), new Point(x1, y0)));
+		}
+
+		return segments;
+	}
+
+	/**
+	 * Generates long line segments spanning the whole range, whose slopes differ only slightly from each other, so
+	 * that they cross at shallow angles.
+	 */
+	public static List<LineSegment> nearlyParallel(int count, double range, Random rand)
+	{
+		ArrayList<LineSegment> segments = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++)
+		{
+			double y1 = range * rand.nextDouble();
+			double y2 = y1 + range * 0.01 * (rand.nextDouble() - 0.5);
+
+			segments.add(new LineSegment(new Point(0.0, y1), new Point(range, y2)));
+		}
+
+		return segments;
+	}
+
+	/**
+	 * Generates the edges of a simple star-shaped polygon around the center of the range, its vertices at random
+	 * angles and distances from the center, so that no two edges cross.
+	 *
+	 * @param count number of edges, at least 3.
+	 */
+	public static List<LineSegment> starPolygon(int count, double range, Random rand)
+	{
+		ArrayList<LineSegment> segments = new ArrayList<>(count);
+		double[] angles = new double[count];
+
+		for (int i = 0; i < count; i++)
+		{
+			angles[i] = 2 * Math.PI * rand.nextDouble();
+		}
+
+		Arrays.sort(angles);
+
+		Point[] vertices = new Point[count];
+
+		for (int i = 0; i < count; i++)
+		{
+			double distance = range * (0.1 + 0.4 * rand.nextDouble());
+
+			vertices[i] = new Point(range / 2 + distance * Math.cos(angles[i]), range / 2 + distance * Math.sin(
+					angles[i]));
+		}
+
+		for (int i = 0; i < count; i++)
+		{
+			segments.add(new LineSegment(vertices[i], vertices[(i + 1) % count]));
+		}
+
+		return segments;
+	}
+
+	/**
+	 * Generates uniformly random line segments, as {@link #uniform(int, double, double, Random)}, listed in order of
+	 * their left endpoints.
+	 */
+	public static List<LineSegment> sorted(int count, double range, double maxLength, Random rand)
+	{
+		List<LineSegment> segments = uniform(count, range, maxLength, rand);
+		segments.sort(Comparator.comparingDouble(LineSegment::getMinX));
+
+		return segments;
+	}
+
+	/**
+	 * Generates star-bursts, groups of chords of a small circle which all pass close to its center, giving dense
+	 * clusters of crossings around the centers of the bursts.
+	 *
+	 * @param rays number of line segments per star-burst.
+	 */
+	public static List<LineSegment> starburst(int count, int rays, double range, double radius, Random rand)
+	{
+		ArrayList<LineSegment> segments = new ArrayList<>(count);
+
+		while (segments.size() < count)
+		{
+			double cx = radius + (range - 2 * radius) * rand.nextDouble();
+			double cy = radius + (range - 2 * radius) * rand.nextDouble();
+
+			for (int i = 0; i < rays && segments.size() < count; i++)
+			{
+				double angle = Math.PI * (i + rand.nextDouble()) / rays;
+				double offset = radius * 0.05 * (rand.nextDouble() - 0.5);
+				double dx = radius * Math.cos(angle);
+				double dy = radius * Math.sin(angle);
+				double ox = -Math.sin(angle) * offset;
+				double oy = Math.cos(angle) * offset;
+
+				segments.add(new LineSegment(new Point(cx + ox - dx, cy + oy - dy), new Point(cx + ox + dx,
+						cy + oy + dy)));
+			}
+		}
+
+		return segments;
+	}
+
+	/**
+	 * Generates line segments with a uniformly random first endpoint, and a second endpoint uniformly random within
+	 * maxLength of the first along each axis. With a maxLength of at least range both endpoints are independent.
+	 */
+	public static List<LineSegment> uniform(int count, double range, double maxLength, Random rand)
+	{
+		ArrayList<LineSegment> segments = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++)
+		{
+			double x1 = range * rand.nextDouble();
+			double y1 = range * rand.nextDouble();
+			double x2 = uniformNear(x1, range, maxLength, rand);
+			double y2 = uniformNear(y1, range, maxLength, rand);
+
+			segments.add(new LineSegment(new Point(x1, y1), new Point(x2, y2)));
+		}
+
+		return segments;
+	}
+
+	// Draws a coordinate uniformly within maxLength of c, clamped to [0, range].
+	private static double uniformNear(double c, double range, double maxLength, Random rand)
+	{
+		double low = Math.max(0.0, c - maxLength);
+		double high = Math.min(range, c + maxLength);
+
+		return low + (high - low) * rand.nextDouble();
+	}
+
+	private SegmentGenerator()
+	{
+	}
+}
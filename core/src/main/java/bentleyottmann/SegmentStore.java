@@ -0,0 +1,750 @@
+package bentleyottmann;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Structure-of-arrays storage of line segments addressed by int id. The canonical endpoints of each line
+ *         segment are kept in contiguous double arrays, (x1, y1) being the left endpoint, or the bottom endpoint if
+ *         vertical, and (x2, y2) the right endpoint, or the top endpoint if vertical.
+ *         </p>
+ *         <p>
+ *         The geometric routines of the sweep, comparing line segments along the sweep line and finding where they
+ *         cross, operate directly on these arrays and follow the same rules as their {@link LineSegment}
+ *         counterparts, apart from a line segment being vertical only when its x-coordinates are exactly equal.
+ *         </p>
+ *         <p>
+ *         Every decision of the sweep is exact, so that it always agrees with {@link #crosses(int, int)}. A crossing
+ *         is approximated in floating point along with a bound on the rounding error of its coordinates. Event points
+ *         whose approximations are too close to be told apart, and line segments nearly passing through a crossing,
+ *         are decided from the exact crossing, a rational point evaluated in integer arithmetic. Every double being an
+ *         integer times a power of two, the coordinates involved are scaled by a common power of two into exact
+ *         BigIntegers.
+ *         </p>
+ */
+public class SegmentStore
+{
+	private static final int MIN_CAPACITY = 16;
+	private static final double EPSILON = 0x1p-53; // Relative error of a rounded floating point operation.
+	// Bound of the error of the parameter of a crossing along its line segment, above which the crossing is rounded
+	// from its exact value instead.
+	private static final double MAX_PARAMETER_ERROR = 0x1p-30;
+
+	// Returns the exponent of the lowest set bit of a double, so that it is an integer times two to that power, or
+	// Integer.MAX_VALUE for zero.
+	private static int exponentOf(double value)
+	{
+		if (value == 0.0)
+		{
+			return Integer.MAX_VALUE;
+		}
+
+		// The lowest set bit of the significand, the implicit bit ending the count for a power of two.
+		long significand = Double.doubleToRawLongBits(value) | (1L << 52);
+
+		return Math.max(Math.getExponent(value), Double.MIN_EXPONENT) - 52 + Long.numberOfTrailingZeros(significand);
+	}
+
+	/**
+	 * Copies a list of line segments into a new store, the id of each line segment is its index in the list.
+	 *
+	 * @param segments the line segments.
+	 * @return the store holding the line segments.
+	 */
+	public static SegmentStore of(List<LineSegment> segments)
+	{
+		SegmentStore store = new SegmentStore(segments.size());
+
+		for (LineSegment segment : segments)
+		{
+			store.add(segment);
+		}
+
+		return store;
+	}
+
+	// Returns a double exactly as an integer, in units of two to a power not above its exponentOf.
+	private static BigInteger scaled(double value, int exponent)
+	{
+		if (value == 0.0)
+		{
+			return BigInteger.ZERO;
+		}
+
+		int lowest = exponentOf(value);
+
+		// Below 2^53 once its trailing zero bits are shifted out, the integer is exactly a long.
+		return BigInteger.valueOf((long) Math.scalb(value, -lowest)).shiftLeft(lowest - exponent);
+	}
+
+	private double[] x1, y1, x2, y2; // Canonical endpoint coordinates.
+	private boolean[] vertical;
+	private int[] layers; // Layer of each line segment, 0 unless given.
+
+	private int size; // current number of line segments
+
+	public SegmentStore()
+	{
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * @param capacity number of line segments the store can hold before growing.
+	 */
+	public SegmentStore(int capacity)
+	{
+		capacity = Math.max(capacity, MIN_CAPACITY);
+
+		x1 = new double[capacity];
+		y1 = new double[capacity];
+		x2 = new double[capacity];
+		y2 = new double[capacity];
+		vertical = new boolean[capacity];
+		layers = new int[capacity];
+	}
+
+	/**
+	 * Adds a line segment given by its endpoints in any order.
+	 *
+	 * @return the id of the line segment.
+	 */
+	public int add(double ax, double ay, double bx, double by)
+	{
+		if (size == x1.length)
+		{
+			grow();
+		}
+
+		int id = size++;
+		layers[id] = 0;
+		set(id, ax, ay, bx, by);
+
+		return id;
+	}
+
+	/**
+	 * Adds a copy of a line segment, in its layer.
+	 *
+	 * @return the id of the line segment.
+	 */
+	public int add(LineSegment segment)
+	{
+		int id = add(segment.getP1().getX(), segment.getP1().getY(), segment.getP2().getX(), segment.getP2().getY());
+		layers[id] = segment.getLayer();
+
+		return id;
+	}
+
+	/**
+	 * Adds a copy of a line segment of another store, in its layer.
+	 *
+	 * @return the id of the line segment within this store.
+	 */
+	public int add(SegmentStore source, int s)
+	{
+		int id = add(source.x1[s], source.y1[s], source.x2[s], source.y2[s]);
+		setLayer(id, source.layers[s]);
+
+		return id;
+	}
+
+	// Approximates the point where two line segments straddling each other cross, as a1 + t (a2 - a1), t being the
+	// ratio of the orientations of the endpoints of a relative to b, which have opposite signs. The point is taken
+	// along a vertical line segment, or else along the one with the lower id, so that it does not depend on the order
+	// of a and b. A bound on the rounding error of both coordinates is written at index 2 if the buffer has room for
+	// it. When t is ill-conditioned, as for nearly collinear line segments, the point is rounded from its exact value.
+	private void approximate(int a, int b, double[] crossing)
+	{
+		if (vertical[b] || (!vertical[a] && b < a))
+		{
+			int swap = a;
+			a = b;
+			b = swap;
+		}
+
+		double ux = x2[b] - x1[b];
+		double uy = y2[b] - y1[b];
+		double left1 = ux * (y1[a] - y1[b]);
+		double right1 = uy * (x1[a] - x1[b]);
+		double left2 = ux * (y2[a] - y1[b]);
+		double right2 = uy * (x2[a] - x1[b]);
+		double d1 = left1 - right1;
+		double denominator = d1 - (left2 - right2);
+		double wx = x2[a] - x1[a];
+		double wy = y2[a] - y1[a];
+
+		// Error bounds of both orientations, with slack for the rounding of the bounds themselves, then of t.
+		double e1 = 4.0 * EPSILON * (Math.abs(left1) + Math.abs(right1));
+		double e2 = 4.0 * EPSILON * (Math.abs(left2) + Math.abs(right2));
+		double errorOfT = (2.0 * e1 + e2 + 2.0 * EPSILON * Math.abs(denominator)) / Math.abs(denominator)
+				+ 2.0 * EPSILON;
+		double x;
+		double y;
+		double error;
+
+		if (errorOfT <= MAX_PARAMETER_ERROR)
+		{
+			double t = d1 / denominator;
+			double extent = Math.max(Math.abs(wx), Math.abs(wy));
+
+			x = x1[a] + t * wx;
+			y = y1[a] + t * wy;
+			error = errorOfT * extent + 4.0 * EPSILON * (extent + Math.max(Math.abs(x), Math.abs(y)));
+		} else
+		{
+			int exponent = Math.min(exponentOf(a), exponentOf(b));
+			BigInteger[] p = exactCrossing(a, b, exponent);
+			BigDecimal denominatorOfP = new BigDecimal(p[2]);
+
+			x = Math.scalb(new BigDecimal(p[0]).divide(denominatorOfP, MathContext.DECIMAL128).doubleValue(), exponent);
+			y = Math.scalb(new BigDecimal(p[1]).divide(denominatorOfP, MathContext.DECIMAL128).doubleValue(), exponent);
+			error = Math.ulp(Math.max(Math.abs(x), Math.abs(y)));
+		}
+
+		// Coordinates shared with a vertical or horizontal line segment are exact, both of them with one of each.
+		if (vertical[a])
+		{
+			x = x1[a];
+		}
+
+		if (y1[a] == y2[a] || y1[b] == y2[b])
+		{
+			y = (y1[a] == y2[a]) ? y1[a] : y1[b];
+			error = vertical[a] ? 0.0 : error;
+		}
+
+		crossing[0] = x;
+		crossing[1] = y;
+
+		if (crossing.length > 2)
+		{
+			crossing[2] = error;
+		}
+	}
+
+	/**
+	 * Removes every line segment, keeping the storage for reuse. Ids are then given out from 0 again.
+	 */
+	public void clear()
+	{
+		size = 0;
+	}
+
+	/**
+	 * Compares line segment a to line segment b along the sweep line, where the event point lies on a. This follows
+	 * the rules of {@link LineSegment#compareTo(LineSegment, Point)}.
+	 *
+	 * @return 0 if a and b are the same line segment, 1 if a is above b, and -1 if a is below b.
+	 */
+	public int compare(int a, int b, double eventX, double eventY)
+	{
+		boolean sameLeft = x1[a] == x1[b] && y1[a] == y1[b];
+
+		// Case where line segments are the same, i.e., line segment has been found.
+		if (a == b || (sameLeft && x2[a] == x2[b] && y2[a] == y2[b]))
+		{
+			return 0;
+		}
+		// Case where line segments share an exact endpoint.
+		else if (sameLeft)
+		{
+			// Orientation of the right endpoint of b relative to a, from their shared left endpoint.
+			double orientation = Geometry.orientation(x1[a], y1[a], x2[a], y2[a], x2[b], y2[b]);
+
+			return (orientation <= 0.0) ? 1 : -1;
+		}
+		// General case where line segments are compared at their event points with the sweep line.
+		else if (!vertical[b])
+		{
+			if (eventX < x1[b] || eventX > x2[b])
+			{
+				warnOutOfRange();
+			}
+
+			// The event point is above b if it lies to the left of b, directed from its left to its right endpoint.
+			double side = Geometry.orientation(x1[b], y1[b], x2[b], y2[b], eventX, eventY);
+
+			if (side == 0.0)
+			{
+				double orientation = Geometry.orientation(eventX, eventY, x2[a], y2[a], x2[b], y2[b]);
+
+				// Lying on both line segments, the event point is where they cross, if they do.
+				if (crosses(a, b))
+				{
+					return (orientation <= 0.0) ? -1 : 1;
+				} else
+				{
+					return (orientation <= 0.0) ? 1 : -1;
+				}
+			}
+
+			return (side > 0.0) ? 1 : -1;
+		}
+		// Case where vertical line segments overlap, the one reaching higher is above.
+		else if (vertical[a])
+		{
+			return (y2[a] >= y2[b]) ? 1 : -1;
+		} else
+		{
+			if (x1[b] < x1[a] || x1[b] > x2[a])
+			{
+				warnOutOfRange();
+			}
+
+			// Along the sweep line, a vertical line segment through the event point reaches past it, so it is above
+			// every line segment starting there.
+			return (y2[b] < eventY) ? 1 : -1;
+		}
+	}
+
+	/**
+	 * Compares two non-vertical line segments spanning a vertical line past their left endpoints, in their order just
+	 * before the line, exactly: by their y-coordinates on the line, and where these are equal, the line segment with
+	 * the greater slope is below. Collinear line segments are ordered by id.
+	 *
+	 * @return a negative value, zero or a positive value as a lies below, is or lies above b.
+	 */
+	int compareAtX(int a, int b, double x)
+	{
+		if (a == b)
+		{
+			return 0;
+		}
+
+		double ya = y1[a] + (y2[a] - y1[a]) * ((x - x1[a]) / (x2[a] - x1[a]));
+		double yb = y1[b] + (y2[b] - y1[b]) * ((x - x1[b]) / (x2[b] - x1[b]));
+		// Each interpolation is within a few roundings of its endpoint coordinates.
+		double error = 16.0 * EPSILON * (Math.abs(y1[a]) + Math.abs(y2[a]) + Math.abs(y1[b]) + Math.abs(y2[b]))
+				+ Double.MIN_NORMAL;
+
+		if (ya < yb - error || ya > yb + error)
+		{
+			return (ya < yb) ? -1 : 1;
+		}
+
+		int exponent = Math.min(Math.min(exponentOf(a), exponentOf(b)), exponentOf(x));
+		BigInteger value = scaled(x, exponent);
+		BigInteger ax = scaled(x1[a], exponent);
+		BigInteger bx = scaled(x1[b], exponent);
+		BigInteger adx = scaled(x2[a], exponent).subtract(ax);
+		BigInteger ady = scaled(y2[a], exponent).subtract(scaled(y1[a], exponent));
+		BigInteger bdx = scaled(x2[b], exponent).subtract(bx);
+		BigInteger bdy = scaled(y2[b], exponent).subtract(scaled(y1[b], exponent));
+		// Both y-coordinates over the positive denominator adx * bdx.
+		BigInteger aY = scaled(y1[a], exponent).multiply(adx).add(ady.multiply(value.subtract(ax))).multiply(bdx);
+		BigInteger bY = scaled(y1[b], exponent).multiply(bdx).add(bdy.multiply(value.subtract(bx))).multiply(adx);
+		int order = aY.compareTo(bY);
+
+		if (order == 0)
+		{
+			order = bdy.multiply(adx).compareTo(ady.multiply(bdx));
+		}
+
+		return (order != 0) ? order : Integer.compare(a, b);
+	}
+
+	/**
+	 * Compares the x-coordinate of the crossing of line segments a and b, given as approximated by
+	 * {@link #crossing(int, int, double[])} with the bound on its error, to a value, exactly.
+	 *
+	 * @return a negative value, zero or a positive value as the crossing lies before, at or after value.
+	 */
+	int compareCrossingX(double x, double error, int a, int b, double value)
+	{
+		if (x < value - error || x > value + error || Double.isInfinite(value))
+		{
+			return (x < value) ? -1 : 1;
+		} else if (hasExactX(a, b))
+		{
+			double exactX = exactX(x, a, b);
+
+			return (exactX < value) ? -1 : (exactX > value) ? 1 : 0;
+		}
+
+		int exponent = Math.min(Math.min(exponentOf(a), exponentOf(b)), exponentOf(value));
+		BigInteger[] p = exactCrossing(a, b, exponent);
+
+		return p[0].compareTo(scaled(value, exponent).multiply(p[2]));
+	}
+
+	/**
+	 * Compares two event points in the order of the sweep, by x and then by y, exactly. Each event point is either
+	 * the crossing of line segments a and b, given as approximated by {@link #crossing(int, int, double[])} with the
+	 * bound on its error, or a point given exactly by its coordinates when b is -1. Exact arithmetic is only used when
+	 * the approximations are too close to tell.
+	 *
+	 * @return a negative value, zero or a positive value as the first event point precedes, equals or follows the
+	 *         second one.
+	 */
+	int compareEventPoints(double ax, double ay, double aError, int a, int b, double cx, double cy, double cError,
+			int c, int d)
+	{
+		double tolerance = aError + cError;
+		double dx = ax - cx;
+		double dy = ay - cy;
+
+		if (dx < -tolerance || dx > tolerance)
+		{
+			return (dx < 0.0) ? -1 : 1;
+		} else if (tolerance == 0.0)
+		{
+			return (dy < 0.0) ? -1 : (dy > 0.0) ? 1 : 0;
+		}
+
+		BigInteger[] p = null;
+		BigInteger[] q = null;
+		int exponent = Math.min(exponentOf(ax, ay, a, b), exponentOf(cx, cy, c, d));
+		int order;
+
+		// Crossings with a vertical line segment have the exact x-coordinate of that line segment.
+		if (hasExactX(a, b) && hasExactX(c, d))
+		{
+			double px = exactX(ax, a, b);
+			double qx = exactX(cx, c, d);
+			order = (px < qx) ? -1 : (px > qx) ? 1 : 0;
+		} else
+		{
+			p = exactPoint(ax, ay, a, b, exponent);
+			q = exactPoint(cx, cy, c, d, exponent);
+			order = p[0].multiply(q[2]).compareTo(q[0].multiply(p[2]));
+		}
+
+		if (order != 0)
+		{
+			return order;
+		} else if (dy < -tolerance || dy > tolerance)
+		{
+			return (dy < 0.0) ? -1 : 1;
+		} else if (hasExactY(a, b) && hasExactY(c, d))
+		{
+			double py = exactY(ay, a, b);
+			double qy = exactY(cy, c, d);
+
+			return (py < qy) ? -1 : (py > qy) ? 1 : 0;
+		} else if (p == null)
+		{
+			p = exactPoint(ax, ay, a, b, exponent);
+			q = exactPoint(cx, cy, c, d, exponent);
+		}
+
+		return p[1].multiply(q[2]).compareTo(q[1].multiply(p[2]));
+	}
+
+	/**
+	 * Copies some of the line segments into a new store of the same kind, keeping their layers, so that their
+	 * crossings are computed exactly as they are here.
+	 *
+	 * @param ids the line segments to copy, line segment i of the copy being ids[i].
+	 * @return the new store.
+	 */
+	public SegmentStore copyOf(int[] ids)
+	{
+		SegmentStore copy = new SegmentStore(ids.length);
+
+		for (int s : ids)
+		{
+			copy.add(this, s);
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Determines whether two line segments cross at a single point, i.e., they are not collinear, do not just share an
+	 * endpoint, are not reduced to a point, and straddle each other.
+	 */
+	public boolean crosses(int a, int b)
+	{
+		if (isCollinear(a, b) || isPoint(a) || isPoint(b))
+		{
+			return false;
+		}
+
+		// Non-collinear line segments which share an endpoint cannot intersect anywhere else.
+		if (Geometry.coincide(x1[a], y1[a], x1[b], y1[b]) || Geometry.coincide(x1[a], y1[a], x2[b], y2[b])
+				|| Geometry.coincide(x2[a], y2[a], x1[b], y1[b]) || Geometry.coincide(x2[a], y2[a], x2[b], y2[b]))
+		{
+			return false;
+		}
+
+		return straddles(a, b) && straddles(b, a);
+	}
+
+	/**
+	 * Calculates the point where two line segments cross in the sense of the sweep, which swaps any two line segments
+	 * straddling each other, whether or not they cross under the rules of {@link #crosses(int, int)}, e.g., when they
+	 * have endpoints equal within POINT_EPSILON.
+	 *
+	 * @param crossing Buffer of three elements, receives x at index 0, y at index 1 and a bound on their rounding error
+	 *                 at index 2 when the line segments straddle each other, and is left untouched otherwise.
+	 * @return true if the line segments straddle each other.
+	 */
+	boolean crossing(int a, int b, double[] crossing)
+	{
+		if (!straddles(a, b) || !straddles(b, a))
+		{
+			return false;
+		}
+
+		approximate(a, b, crossing);
+
+		return true;
+	}
+
+	// Computes the point where two line segments straddling each other cross exactly, as the numerators of its
+	// coordinates over a positive common denominator, in units of two to the given exponent, which must not exceed
+	// the exponentOf either line segment. This follows a1 + d1 / (d1 - d2) (a2 - a1) as in approximate.
+	private BigInteger[] exactCrossing(int a, int b, int exponent)
+	{
+		BigInteger ax = scaled(x1[a], exponent);
+		BigInteger ay = scaled(y1[a], exponent);
+		BigInteger bx = scaled(x1[b], exponent);
+		BigInteger by = scaled(y1[b], exponent);
+		BigInteger wx = scaled(x2[a], exponent).subtract(ax);
+		BigInteger wy = scaled(y2[a], exponent).subtract(ay);
+		BigInteger ux = scaled(x2[b], exponent).subtract(bx);
+		BigInteger uy = scaled(y2[b], exponent).subtract(by);
+		BigInteger d1 = ux.multiply(ay.subtract(by)).subtract(uy.multiply(ax.subtract(bx)));
+		BigInteger denominator = uy.multiply(wx).subtract(ux.multiply(wy));
+
+		if (denominator.signum() < 0)
+		{
+			d1 = d1.negate();
+			denominator = denominator.negate();
+		}
+
+		return new BigInteger[] { ax.multiply(denominator).add(d1.multiply(wx)),
+				ay.multiply(denominator).add(d1.multiply(wy)), denominator };
+	}
+
+	// Returns an event point, given as in compareEventPoints, exactly as in exactCrossing.
+	private BigInteger[] exactPoint(double x, double y, int a, int b, int exponent)
+	{
+		if (b == -1)
+		{
+			return new BigInteger[] { scaled(x, exponent), scaled(y, exponent), BigInteger.ONE };
+		}
+
+		return exactCrossing(a, b, exponent);
+	}
+
+	// Returns the x-coordinate of an event point, given as in compareEventPoints, when it is an exact double.
+	private double exactX(double x, int a, int b)
+	{
+		return (b == -1) ? x : vertical[a] ? x1[a] : x1[b];
+	}
+
+	// Returns the y-coordinate of an event point, given as in compareEventPoints, when it is an exact double.
+	private double exactY(double y, int a, int b)
+	{
+		return (b == -1) ? y : (y1[a] == y2[a]) ? y1[a] : y1[b];
+	}
+
+	// Returns the lowest exponentOf the coordinates of a line segment.
+	private int exponentOf(int id)
+	{
+		return Math.min(Math.min(exponentOf(x1[id]), exponentOf(y1[id])), Math.min(exponentOf(x2[id]),
+				exponentOf(y2[id])));
+	}
+
+	// Returns an exponent in which an event point, given as in compareEventPoints, is computed exactly.
+	private int exponentOf(double x, double y, int a, int b)
+	{
+		return (b == -1) ? Math.min(exponentOf(x), exponentOf(y)) : Math.min(exponentOf(a), exponentOf(b));
+	}
+
+	public int getLayer(int id)
+	{
+		return layers[id];
+	}
+
+	public double getX1(int id)
+	{
+		return x1[id];
+	}
+
+	public double getX2(int id)
+	{
+		return x2[id];
+	}
+
+	public double getY1(int id)
+	{
+		return y1[id];
+	}
+
+	public double getY2(int id)
+	{
+		return y2[id];
+	}
+
+	private void grow()
+	{
+		int capacity = x1.length + (x1.length >> 1);
+
+		x1 = Arrays.copyOf(x1, capacity);
+		y1 = Arrays.copyOf(y1, capacity);
+		x2 = Arrays.copyOf(x2, capacity);
+		y2 = Arrays.copyOf(y2, capacity);
+		vertical = Arrays.copyOf(vertical, capacity);
+		layers = Arrays.copyOf(layers, capacity);
+	}
+
+	// Checks if the x-coordinate of an event point, given as in compareEventPoints, is an exact double.
+	private boolean hasExactX(int a, int b)
+	{
+		return b == -1 || vertical[a] || vertical[b];
+	}
+
+	// Checks if the y-coordinate of an event point, given as in compareEventPoints, is an exact double.
+	private boolean hasExactY(int a, int b)
+	{
+		return b == -1 || y1[a] == y2[a] || y1[b] == y2[b];
+	}
+
+	/**
+	 * Calculates the point where two line segments cross, writing its coordinates into a caller supplied buffer.
+	 *
+	 * @param intersection Buffer of at least two elements, receives x at index 0 and y at index 1 when the line
+	 *                     segments cross, and is left untouched otherwise. A third element, if any, receives a bound
+	 *                     on the rounding error of both coordinates.
+	 * @return true if the line segments cross, under the same rules as {@link #crosses(int, int)}.
+	 */
+	public boolean intersection(int a, int b, double[] intersection)
+	{
+		if (!crosses(a, b))
+		{
+			return false;
+		}
+
+		approximate(a, b, intersection);
+
+		return true;
+	}
+
+	// Checks if two line segments are collinear, i.e., both endpoints of b lie exactly on the line through a.
+	private boolean isCollinear(int a, int b)
+	{
+		return Geometry.orientation(x1[a], y1[a], x2[a], y2[a], x1[b], y1[b]) == 0.0
+				&& Geometry.orientation(x1[a], y1[a], x2[a], y2[a], x2[b], y2[b]) == 0.0;
+	}
+
+	// Checks if a line segment is reduced to a point, its endpoints being equal within POINT_EPSILON.
+	private boolean isPoint(int id)
+	{
+		return Geometry.coincide(x1[id], y1[id], x2[id], y2[id]);
+	}
+
+	public boolean isVertical(int id)
+	{
+		return vertical[id];
+	}
+
+	/**
+	 * Determines exactly whether a line segment passes through the point where line segments a and b cross.
+	 *
+	 * @param intersection that point, as computed by {@link #intersection(int, int, double[])} into a buffer of three
+	 *                     elements, with the bound on its rounding error.
+	 */
+	public boolean passesThrough(int id, int a, int b, double[] intersection)
+	{
+		if (id == a || id == b)
+		{
+			return true;
+		}
+
+		double x = intersection[0];
+		double y = intersection[1];
+		double error = intersection[2];
+		double ux = x2[id] - x1[id];
+		double uy = y2[id] - y1[id];
+		double left = ux * (y - y1[id]);
+		double right = uy * (x - x1[id]);
+
+		// Moving the approximation onto the crossing changes its orientation relative to the line segment by at most
+		// its error times the extent of the line segment.
+		if (x < x1[id] - error || x > x2[id] + error || Math.abs(left - right) > Geometry.ORIENTATION_ERROR_BOUND
+				* (Math.abs(left) + Math.abs(right)) + 2.0 * error * (Math.abs(ux) + Math.abs(uy)))
+		{
+			return false;
+		}
+
+		int exponent = Math.min(exponentOf(id), Math.min(exponentOf(a), exponentOf(b)));
+		BigInteger[] p = exactCrossing(a, b, exponent);
+		BigInteger[] q = { scaled(x1[id], exponent), scaled(y1[id], exponent), scaled(x2[id], exponent),
+				scaled(y2[id], exponent) };
+		BigInteger px = p[0].subtract(q[0].multiply(p[2]));
+		BigInteger py = p[1].subtract(q[1].multiply(p[2]));
+
+		if (q[2].subtract(q[0]).multiply(py).compareTo(q[3].subtract(q[1]).multiply(px)) != 0)
+		{
+			return false;
+		}
+
+		// Lying on the line through the line segment, the crossing must also lie within its bounding box.
+		return px.signum() >= 0 && p[0].compareTo(q[2].multiply(p[2])) <= 0
+				&& p[1].compareTo(q[1].min(q[3]).multiply(p[2])) >= 0
+				&& p[1].compareTo(q[1].max(q[3]).multiply(p[2])) <= 0;
+	}
+
+	// Sets the endpoints of a line segment, given in any order, deriving its canonical endpoints.
+	private void set(int id, double ax, double ay, double bx, double by)
+	{
+		boolean isVertical = ax == bx;
+		boolean aIsLeft = isVertical ? ay < by : ax < bx;
+
+		x1[id] = aIsLeft ? ax : bx;
+		y1[id] = aIsLeft ? ay : by;
+		x2[id] = aIsLeft ? bx : ax;
+		y2[id] = aIsLeft ? by : ay;
+		vertical[id] = isVertical;
+	}
+
+	/**
+	 * Moves a line segment to another layer, so that a layered sweep only finds its crossings with line segments of
+	 * other layers.
+	 */
+	public void setLayer(int id, int layer)
+	{
+		layers[id] = layer;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	// Checks if line segment a straddles line segment b, i.e., the endpoints of b lie strictly on opposite sides of a.
+	private boolean straddles(int a, int b)
+	{
+		double orientationWithFirstPoint = Geometry.orientation(x1[a], y1[a], x2[a], y2[a], x1[b], y1[b]);
+		double orientationWithLastPoint = Geometry.orientation(x1[a], y1[a], x2[a], y2[a], x2[b], y2[b]);
+
+		return (orientationWithFirstPoint < 0.0 && orientationWithLastPoint > 0.0)
+				|| (orientationWithFirstPoint > 0.0 && orientationWithLastPoint < 0.0);
+	}
+
+	/**
+	 * Creates a {@link LineSegment} object with the coordinates of a stored line segment.
+	 */
+	public LineSegment toLineSegment(int id)
+	{
+		return new LineSegment(new Point(x1[id], y1[id]), new Point(x2[id], y2[id]), layers[id]);
+	}
+
+	public String toString(int id)
+	{
+		return "Segment " + id + ": {(" + x1[id] + ", " + y1[id] + "), (" + x2[id] + ", " + y2[id] + ")}";
+	}
+
+	private void warnOutOfRange()
+	{
+		System.err.println("Warning: Event point that is out of other line segment range "
+				+ "is being used for comparisons, algorithm may not perform correctly.");
+	}
+}
@@ -0,0 +1,264 @@
+package bentleyottmann;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Snap rounding of line segments on an integer grid. Each grid point is the center of a pixel, the half-open
+ *         unit square [x - 1/2, x + 1/2) x [y - 1/2, y + 1/2). A pixel is hot when it holds an endpoint or a crossing,
+ *         found by a {@link BentleyOttmann} sweep over a {@link FixedPointSegmentStore} with exact predicates. Every
+ *         line segment is then rerouted through the centers of all of the hot pixels it passes through.
+ *         </p>
+ *         <p>
+ *         The output only depends on the exact crossings of the input, so it is deterministic, and rerouting through
+ *         every hot pixel rather than only the rounded crossings of a line segment keeps it topologically consistent:
+ *         no polyline passes through a hot pixel without having a vertex there, so polylines never cross between
+ *         vertices.
+ *         </p>
+ *         <p>
+ *         The hot pixels are bucketed into vertical columns about as wide as the average spacing of the hot pixels,
+ *         sorted by y within each column, so each line segment only tests the hot pixels near it.
+ *         </p>
+ */
+public class SnapRounder
+{
+	private static final int MIN_CAPACITY = 16;
+	private static final long OFFSET = FixedPointSegmentStore.MAX_COORDINATE + 1; // Makes grid coordinates positive.
+
+	// Packs a grid point into a long key, ordered by x and then by y.
+	private static long keyOf(long x, long y)
+	{
+		return ((x + OFFSET) << 32) | (y + OFFSET);
+	}
+
+	private static long xOf(long key)
+	{
+		return (key >>> 32) - OFFSET;
+	}
+
+	private static long yOf(long key)
+	{
+		return (key & 0xFFFFFFFFL) - OFFSET;
+	}
+
+	private FixedPointSegmentStore store;
+	private long[] pixel = new long[2]; // Scratch buffer receiving the grid points of crossings.
+
+	public SnapRounder(List<LineSegment> segments)
+	{
+		this(FixedPointSegmentStore.of(segments));
+	}
+
+	/**
+	 * @param store the line segments to be snap rounded, ids of the line segments are used in the results.
+	 */
+	public SnapRounder(FixedPointSegmentStore store)
+	{
+		this.store = store;
+	}
+
+	/**
+	 * Runs the sweep, emitting each crossing with its point snapped to the nearest grid point.
+	 *
+	 * @param sink receives every crossing pair of line segments, with the grid point of their crossing.
+	 */
+	public void findIntersections(IntersectionSink sink)
+	{
+		new BentleyOttmann(store).findIntersections((x, y, segment, intersectionSegment) ->
+		{
+			store.snappedIntersection(segment, intersectionSegment, pixel);
+			sink.accept(pixel[0], pixel[1], segment, intersectionSegment);
+		});
+	}
+
+	/**
+	 * Finds the hot pixels, sorted and without duplicates, as packed keys.
+	 */
+	private long[] findHotPixels()
+	{
+		IntersectionResult crossings = new IntersectionResult();
+		findIntersections(crossings);
+
+		int segmentCount = store.size();
+		long[] keys = new long[2 * segmentCount + crossings.size()];
+		int count = 0;
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			keys[count++] = keyOf(store.getGridX1(s), store.getGridY1(s));
+			keys[count++] = keyOf(store.getGridX2(s), store.getGridY2(s));
+		}
+
+		for (int i = 0; i < crossings.size(); i++)
+		{
+			keys[count++] = keyOf((long) crossings.getX(i), (long) crossings.getY(i));
+		}
+
+		Arrays.sort(keys);
+		int distinct = 0;
+
+		for (int i = 0; i < count; i++)
+		{
+			if (i == 0 || keys[i] != keys[distinct - 1])
+			{
+				keys[distinct++] = keys[i];
+			}
+		}
+
+		return Arrays.copyOf(keys, distinct);
+	}
+
+	public FixedPointSegmentStore getSegmentStore()
+	{
+		return store;
+	}
+
+	// Checks if a line segment passes through the pixel of a grid point. In doubled coordinates the corners of the
+	// pixel are grid points, so the test is exact. Apart from the bottom left corner, which belongs to the pixel, the
+	// line segment must meet the interior of the pixel, as it cannot touch its edges without crossing them.
+	private boolean passesThroughPixel(int s, long hx, long hy)
+	{
+		long ax = 2 * store.getGridX1(s);
+		long ay = 2 * store.getGridY1(s);
+		long bx = 2 * store.getGridX2(s);
+		long by = 2 * store.getGridY2(s);
+		long left = 2 * hx - 1;
+		long right = 2 * hx + 1;
+		long bottom = 2 * hy - 1;
+		long top = 2 * hy + 1;
+
+		if (ax == bx && ay == by)
+		{
+			return ax == 2 * hx && ay == 2 * hy;
+		}
+
+		long bottomLeft = Geometry.orientation(ax, ay, bx, by, left, bottom);
+
+		if (bottomLeft == 0 && ax <= left && left <= bx && Math.min(ay, by) <= bottom && bottom <= Math.max(ay, by))
+		{
+			return true;
+		}
+
+		if (bx <= left || ax >= right || Math.max(ay, by) <= bottom || Math.min(ay, by) >= top)
+		{
+			return false;
+		}
+
+		long bottomRight = Geometry.orientation(ax, ay, bx, by, right, bottom);
+		long topRight = Geometry.orientation(ax, ay, bx, by, right, top);
+		long topLeft = Geometry.orientation(ax, ay, bx, by, left, top);
+
+		// The line through the line segment meets the interior if it has corners strictly on both of its sides.
+		long min = Math.min(Math.min(bottomLeft, bottomRight), Math.min(topRight, topLeft));
+		long max = Math.max(Math.max(bottomLeft, bottomRight), Math.max(topRight, topLeft));
+
+		return min < 0 && max > 0;
+	}
+
+	/**
+	 * Snap rounds the line segments, finding the hot pixels and rerouting every line segment through those it
+	 * passes through.
+	 *
+	 * @return the hot pixels and the polyline replacing each line segment.
+	 */
+	public SnapRounding snapRound()
+	{
+		long[] keys = findHotPixels();
+		int pixelCount = keys.length;
+		long[] pixelXs = new long[pixelCount];
+		long[] pixelYs = new long[pixelCount];
+
+		for (int i = 0; i < pixelCount; i++)
+		{
+			pixelXs[i] = xOf(keys[i]);
+			pixelYs[i] = yOf(keys[i]);
+		}
+
+		// Columns of hot pixels, column c holding the x-coordinates from minX + c * width up to before the next one.
+		// The keys are sorted by x, so each column is a range of them, which is re-sorted by y into columnKeys, keyed
+		// with y in place of x and the other way around.
+		long minX = (pixelCount == 0) ? 0 : pixelXs[0];
+		long span = (pixelCount == 0) ? 1 : pixelXs[pixelCount - 1] - minX + 1;
+		long width = Math.max(1, span / Math.max(1, (long) Math.sqrt(pixelCount)));
+		int columnCount = (int) ((span - 1) / width) + 1;
+		int[] columnStarts = new int[columnCount + 1];
+		long[] columnKeys = new long[pixelCount];
+
+		for (int i = 0; i < pixelCount; i++)
+		{
+			columnStarts[(int) ((pixelXs[i] - minX) / width) + 1]++;
+			columnKeys[i] = keyOf(pixelYs[i], pixelXs[i]);
+		}
+
+		for (int c = 0; c < columnCount; c++)
+		{
+			columnStarts[c + 1] += columnStarts[c];
+			Arrays.sort(columnKeys, columnStarts[c], columnStarts[c + 1]);
+		}
+
+		int segmentCount = store.size();
+		int[] starts = new int[segmentCount + 1];
+		int[] vertices = new int[Math.max(2 * segmentCount, MIN_CAPACITY)];
+		int vertexCount = 0;
+		long[] found = new long[MIN_CAPACITY]; // Hot pixels of the current line segment, keyed in polyline order.
+
+		for (int s = 0; s < segmentCount; s++)
+		{
+			long x1 = store.getGridX1(s);
+			long y1 = store.getGridY1(s);
+			long x2 = store.getGridX2(s);
+			long y2 = store.getGridY2(s);
+			int foundCount = 0;
+
+			for (int c = (int) ((x1 - minX) / width); c <= (int) ((x2 - minX) / width); c++)
+			{
+				// Range of y of the line segment across the column, widened to cover whole pixels.
+				double low = Math.max(x1, minX + c * width - 0.5);
+				double high = Math.min(x2, minX + (c + 1) * width - 0.5);
+				double yLow = (x1 == x2) ? Math.min(y1, y2) : y1 + (double) (y2 - y1) * (low - x1) / (x2 - x1);
+				double yHigh = (x1 == x2) ? Math.max(y1, y2) : y1 + (double) (y2 - y1) * (high - x1) / (x2 - x1);
+				long fromY = Math.max((long) Math.floor(Math.min(yLow, yHigh)) - 1, 1 - OFFSET);
+				long toY = (long) Math.ceil(Math.max(yLow, yHigh)) + 1;
+				int i = Arrays.binarySearch(columnKeys, columnStarts[c], columnStarts[c + 1], keyOf(fromY, -OFFSET));
+
+				for (i = (i < 0) ? -i - 1 : i; i < columnStarts[c + 1] && xOf(columnKeys[i]) <= toY; i++)
+				{
+					long hx = yOf(columnKeys[i]);
+					long hy = xOf(columnKeys[i]);
+
+					if (passesThroughPixel(s, hx, hy))
+					{
+						if (foundCount == found.length)
+						{
+							found = Arrays.copyOf(found, found.length + (found.length >> 1));
+						}
+
+						// Along the line segment, x never decreases and y changes monotonically in one direction.
+						found[foundCount++] = keyOf(hx, (y2 >= y1) ? hy : -hy);
+					}
+				}
+			}
+
+			Arrays.sort(found, 0, foundCount);
+
+			if (vertexCount + foundCount > vertices.length)
+			{
+				vertices = Arrays.copyOf(vertices, Math.max(vertexCount + foundCount, vertices.length
+						+ (vertices.length >> 1)));
+			}
+
+			for (int j = 0; j < foundCount; j++)
+			{
+				long hy = (y2 >= y1) ? yOf(found[j]) : -yOf(found[j]);
+
+				vertices[vertexCount++] = Arrays.binarySearch(keys, keyOf(xOf(found[j]), hy));
+			}
+
+			starts[s + 1] = vertexCount;
+		}
+
+		return new SnapRounding(pixelXs, pixelYs, starts, Arrays.copyOf(vertices, vertexCount));
+	}
+}
@@ -0,0 +1,99 @@
+package bentleyottmann;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         The result of snap rounding a set of line segments on an integer grid, see {@link SnapRounder}. The hot
+ *         pixels are the grid points of the endpoints and of the rounded crossings, in ascending order of x and then
+ *         of y. Each line segment is replaced by the polyline through the centers of the hot pixels it passes
+ *         through, from its left endpoint to its right endpoint, or from bottom to top if vertical.
+ *         </p>
+ *         <p>
+ *         The polylines only meet at hot pixels, and line segments passing through the same hot pixel share the
+ *         vertex, so the result can be traversed as a planar graph whose vertices are the hot pixels.
+ *         </p>
+ */
+public class SnapRounding
+{
+	private long[] pixelXs, pixelYs; // Hot pixels, by index.
+	private int[] starts; // Start of the vertices of each line segment in vertices, plus an end sentinel.
+	private int[] vertices; // Hot pixel indices of the polylines.
+
+	SnapRounding(long[] pixelXs, long[] pixelYs, int[] starts, int[] vertices)
+	{
+		this.pixelXs = pixelXs;
+		this.pixelYs = pixelYs;
+		this.starts = starts;
+		this.vertices = vertices;
+	}
+
+	public int getHotPixelCount()
+	{
+		return pixelXs.length;
+	}
+
+	public long getHotPixelX(int pixel)
+	{
+		return pixelXs[pixel];
+	}
+
+	public long getHotPixelY(int pixel)
+	{
+		return pixelYs[pixel];
+	}
+
+	public int getSegmentCount()
+	{
+		return starts.length - 1;
+	}
+
+	/**
+	 * Returns the hot pixel index of the j-th vertex of the polyline of a line segment.
+	 */
+	public int getVertex(int segment, int j)
+	{
+		return vertices[starts[segment] + j];
+	}
+
+	/**
+	 * Returns the number of vertices of the polyline of a line segment, at least two unless both of its endpoints lie
+	 * on the same grid point.
+	 */
+	public int getVertexCount(int segment)
+	{
+		return starts[segment + 1] - starts[segment];
+	}
+
+	public long getVertexX(int segment, int j)
+	{
+		return pixelXs[getVertex(segment, j)];
+	}
+
+	public long getVertexY(int segment, int j)
+	{
+		return pixelYs[getVertex(segment, j)];
+	}
+
+	/**
+	 * Creates a {@link LineSegment} object for each edge of the polylines, edges shared by several polylines being
+	 * created once per polyline.
+	 */
+	public List<LineSegment> toLineSegments()
+	{
+		ArrayList<LineSegment> edges = new ArrayList<>(vertices.length);
+
+		for (int s = 0; s < getSegmentCount(); s++)
+		{
+			for (int j = 1; j < getVertexCount(s); j++)
+			{
+				edges.add(new LineSegment(new Point(getVertexX(s, j - 1), getVertexY(s, j - 1)),
+						new Point(getVertexX(s, j), getVertexY(s, j))));
+			}
+		}
+
+		return edges;
+	}
+}
@@ -0,0 +1,35 @@
+package bentleyottmann;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Observer for the progression of a {@link BentleyOttmann} sweep. The sweep engine itself is headless, a
+ *         listener is only notified when one has been registered through
+ *         {@link BentleyOttmann#setSweepListener(SweepListener)}, so an unobserved sweep pays nothing for it.
+ *         </p>
+ */
+public interface SweepListener
+{
+	/**
+	 * Called after a line segment has been inserted into the sweep line status.
+	 * 
+	 * @param segment id of the line segment whose left endpoint was reached.
+	 */
+	void segmentAdded(int segment);
+
+	/**
+	 * Called after a line segment has been removed from the sweep line status.
+	 * 
+	 * @param segment id of the line segment whose right endpoint was reached.
+	 */
+	void segmentRemoved(int segment);
+
+	/**
+	 * Called when an intersection is reported, once per point of intersection however many line segments cross there.
+	 * 
+	 * @param intersection        the point of intersection.
+	 * @param segment             id of the lowest line segment through the point, just before it.
+	 * @param intersectionSegment id of the highest line segment through the point, just before it.
+	 */
+	void intersectionFound(Point intersection, int segment, int intersectionSegment);
+}
@@ -0,0 +1,71 @@
+package bentleyottmann;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javax.swing.JFrame;
+import java.awt.Color;
+
+/**
+ * @author E. Aguilar
+ */
+public class Tester
+{
+	public static void main(String[] args)
+	{
+		new Tester();
+	}
+
+	public Tester()
+	{
+		// frame size
+		int frameWidth = 900;
+		int frameHeight = 900;
+		
+		long seed = System.currentTimeMillis();
+		System.out.println("Tester Seed: " + seed);
+		Random rand = new Random(seed);
+		int segmentCount = 100;
+		int coordinateRange = 900;
+
+		// Generate random line segments to insert into tree, both endpoints independently random within the range.
+		List<LineSegment> segments = SegmentGenerator.uniform(segmentCount, coordinateRange, coordinateRange, rand);
+		ArrayList<DrawableSegment> drawables = new ArrayList<>(segmentCount);
+		ArrayList<GeometricObject> geometricList = new ArrayList<>(segmentCount);
+
+		for (LineSegment segment : segments)
+		{
+			DrawableSegment drawable = new DrawableSegment(segment);
+			drawable.getP1().setInteriorColor(Color.black);
+			drawable.getP2().setInteriorColor(Color.black);
+			
+			drawables.add(drawable);
+			geometricList.add(drawable);
+		}
+		
+		// Graphing
+		FrameDisplay frame = new FrameDisplay(frameWidth, frameHeight, geometricList);
+		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		frame.setVisible(true);
+		
+		// Line segment ids within the engine are their indices in the list.
+		BentleyOttmann bo = new BentleyOttmann(segments);
+		// Set non-zero delay in ms to visualize sweep line algorithm progression.
+		bo.setSweepListener(new FrameSweepListener(frame, drawables, 5));
+		bo.findIntersections();
+		frame.repaint();
+	}
+	
+	/**
+	 * Method that makes the thread that it's called from to pause.
+	 * 
+	 * @param ms milliseconds duration the thread will pause for
+	 */
+	public static void delay(int ms)
+	{
+		try
+		{
+			Thread.sleep(ms);
+		} catch (InterruptedException e) {}
+	}
+}
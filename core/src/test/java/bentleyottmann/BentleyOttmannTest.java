@@ -0,0 +1,334 @@
+package bentleyottmann;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Checks the crossings reported by the sweep against a brute force test of every pair of line segments with
+ *         {@link SegmentStore#crosses(int, int)}, on inputs whose crossings lie near endpoints and near each other.
+ *         </p>
+ */
+class BentleyOttmannTest
+{
+	/**
+	 * Counts how many times each crossing pair is expected by the brute force test, i.e., once.
+	 */
+	static Map<Long, Integer> bruteForce(SegmentStore store)
+	{
+		Map<Long, Integer> pairs = new HashMap<>();
+
+		for (int a = 0; a < store.size(); a++)
+		{
+			for (int b = a + 1; b < store.size(); b++)
+			{
+				if (store.crosses(a, b))
+				{
+					pairs.put(pairKey(a, b), 1);
+				}
+			}
+		}
+
+		return pairs;
+	}
+
+	/**
+	 * Adds random line segments with integer coordinates in two layers, parallel to (2, 1) in layer 0 and to (1, -2)
+	 * in layer 1, so that each layer is free of crossings of its own. Two more line segments of layer 0 cross right of
+	 * all of the others, where the sweep line status holds nothing else, so that this crossing is harmlessly left out
+	 * by layered sweeps and only by them.
+	 */
+	static SegmentStore layers(int segments, int range, int maxLength, long seed)
+	{
+		Random rand = new Random(seed);
+		SegmentStore store = new SegmentStore(segments);
+
+		for (int i = 0; i < segments; i++)
+		{
+			int x = rand.nextInt(range);
+			int y = rand.nextInt(range);
+			int length = 1 + rand.nextInt(maxLength);
+			int layer = rand.nextInt(2);
+
+			if (layer == 0)
+			{
+				store.add(x, y, x + 2 * length, y + length);
+			} else
+			{
+				store.add(x, y, x + length, y - 2 * length);
+			}
+
+			store.setLayer(i, layer);
+		}
+
+		store.add(3 * range, 0, 3 * range + 10, 10);
+		store.add(3 * range, 10, 3 * range + 10, 0);
+
+		return store;
+	}
+
+	/**
+	 * Counts how many times each crossing pair is reported in a result.
+	 */
+	static Map<Long, Integer> pairs(IntersectionResult result)
+	{
+		Map<Long, Integer> pairs = new HashMap<>();
+
+		for (int i = 0; i < result.size(); i++)
+		{
+			pairs.merge(pairKey(result.getSegment(i), result.getIntersectionSegment(i)), 1, Integer::sum);
+		}
+
+		return pairs;
+	}
+
+	// Packs a pair of line segment ids into a key independent of their order.
+	private static long pairKey(int a, int b)
+	{
+		return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+	}
+
+	/**
+	 * Adds random line segments between the points of a side x side grid scaled by a factor, most of them crossing at
+	 * or next to grid points and endpoints.
+	 */
+	static SegmentStore scaledGrid(int segments, int side, double scale, long seed)
+	{
+		Random rand = new Random(seed);
+		SegmentStore store = new SegmentStore(segments);
+
+		for (int i = 0; i < segments; i++)
+		{
+			int ax = rand.nextInt(side);
+			int ay = rand.nextInt(side);
+			int bx;
+			int by;
+
+			do
+			{
+				bx = rand.nextInt(side);
+				by = rand.nextInt(side);
+			} while (ax == bx && ay == by);
+
+			store.add(ax * scale, ay * scale, bx * scale, by * scale);
+		}
+
+		return store;
+	}
+
+	@Test
+	void anyIntersection()
+	{
+		double[] crossing = new double[3];
+		double[] first = new double[3];
+		int[] firstPair = new int[2];
+
+		for (long seed = 0; seed < 300; seed++)
+		{
+			// Few line segments, so that about half of the inputs have no crossing at all.
+			SegmentStore store = scaledGrid(2 + (int) (seed % 8), 15, 1.0, seed);
+			Map<Long, Integer> expected = bruteForce(store);
+			String input = "seed " + seed;
+
+			assertEquals(!expected.isEmpty(), new BentleyOttmann(store).hasAnyIntersection(), input);
+
+			// The leftmost crossing, in the order of the sweep, by brute force.
+			firstPair[0] = -1;
+
+			for (int a = 0; a < store.size(); a++)
+			{
+				for (int b = a + 1; b < store.size(); b++)
+				{
+					if (store.crosses(a, b) && store.crossing(a, b, crossing) && (firstPair[0] == -1 || store
+							.compareEventPoints(crossing[0], crossing[1], crossing[2], a, b, first[0], first[1],
+									first[2], firstPair[0], firstPair[1]) < 0))
+					{
+						System.arraycopy(crossing, 0, first, 0, 3);
+						firstPair[0] = a;
+						firstPair[1] = b;
+					}
+				}
+			}
+
+			int[] found = new int[1];
+
+			assertEquals(!expected.isEmpty(), new BentleyOttmann(store).findFirstIntersection((x, y, a, b) ->
+			{
+				assertTrue(expected.containsKey(pairKey(a, b)), input + ", pair " + a + " " + b);
+				store.crossing(a, b, crossing);
+				assertEquals(0, store.compareEventPoints(crossing[0], crossing[1], crossing[2], a, b, first[0],
+						first[1], first[2], firstPair[0], firstPair[1]), input);
+				found[0]++;
+			}));
+			assertEquals(expected.isEmpty() ? 0 : 1, found[0]);
+		}
+
+		// A convex polygon, whose edges only meet at shared endpoints, and the same polygon with two vertices swapped.
+		for (int n = 3; n <= 12; n++)
+		{
+			long[][] vertices = new long[n][];
+
+			for (int i = 0; i < n; i++)
+			{
+				vertices[i] = new long[] { Math.round(1000 * Math.cos(2 * Math.PI * i / n)),
+						Math.round(1000 * Math.sin(2 * Math.PI * i / n)) };
+			}
+
+			for (int swapped = 0; swapped < 2; swapped++)
+			{
+				SegmentStore store = new SegmentStore();
+
+				for (int i = 0; i < n; i++)
+				{
+					long[] a = vertices[i];
+					long[] b = vertices[(i + 1) % n];
+
+					store.add(a[0], a[1], b[0], b[1]);
+				}
+
+				assertEquals(!bruteForce(store).isEmpty(), new BentleyOttmann(store).hasAnyIntersection());
+				assertEquals(swapped == 1 && n > 3, new BentleyOttmann(store).hasAnyIntersection(), n + " vertices");
+
+				long[] temp = vertices[0];
+				vertices[0] = vertices[1];
+				vertices[1] = temp;
+			}
+		}
+	}
+
+	@Test
+	void concurrentLines()
+	{
+		int[] tests = new int[1];
+		// A pencil of lines through the origin, the point of intersection of every pair of them.
+		SegmentStore store = new SegmentStore(2001)
+		{
+			@Override
+			public boolean crosses(int a, int b)
+			{
+				tests[0]++;
+
+				return super.crosses(a, b);
+			}
+		};
+
+		for (int i = -1000; i <= 1000; i++)
+		{
+			store.add(-1000, -i, 1000, i);
+		}
+
+		int[] points = new int[1];
+		BentleyOttmann sweep = new BentleyOttmann(store);
+
+		sweep.findIntersectionPoints((x, y, segments, count) ->
+		{
+			assertEquals(0.0, x);
+			assertEquals(0.0, y);
+			assertEquals(store.size(), count);
+			points[0]++;
+		});
+
+		// The point is reported without testing the two million pairs of its run.
+		assertEquals(1, points[0]);
+		assertTrue(tests[0] <= store.size(), tests[0] + " tests");
+
+		sweep.reset();
+		assertEquals(List.of(new Point(0, 0)), sweep.findIntersections());
+
+		SegmentStore pencil = new SegmentStore(101);
+
+		for (int i = -50; i <= 50; i++)
+		{
+			pencil.add(-1000, -i, 1000, i);
+		}
+
+		Map<Long, Integer> expected = bruteForce(pencil);
+
+		assertEquals(101 * 100 / 2, expected.size());
+		assertEquals(expected, pairs(new BentleyOttmann(pencil).findIntersectingPairs()));
+	}
+
+	@Test
+	void decimalCoordinates()
+	{
+		SegmentStore store = new SegmentStore();
+		store.add(1.4, 0.5, 0, 0.1);
+		store.add(0.4, 0.1, 0, 0.7);
+		store.add(0.2, 0.4, 0.6, 0.1);
+		store.add(0.7, 1.4, 0.2, 0.4);
+
+		assertEquals(bruteForce(store), pairs(new BentleyOttmann(store).findIntersectingPairs()));
+	}
+
+	@Test
+	void reuse()
+	{
+		// A single engine and result, over stores of growing and shrinking sizes.
+		BentleyOttmann sweep = new BentleyOttmann(new SegmentStore());
+		IntersectionResult result = new IntersectionResult();
+
+		for (long seed = 0; seed < 40; seed++)
+		{
+			SegmentStore store = scaledGrid((seed % 2 == 0) ? 200 : 20, 15, 0.3, seed);
+			Map<Long, Integer> expected = bruteForce(store);
+
+			sweep.setSegments(store, 0);
+			assertEquals(expected, pairs(sweep.findIntersectingPairs(result)), "seed " + seed);
+
+			// Sweeping the same line segments again.
+			sweep.reset();
+			assertEquals(expected, pairs(sweep.findIntersectingPairs(result)), "seed " + seed + ", again");
+			sweep.reset();
+			assertEquals(new BentleyOttmann(store).findIntersections(), sweep.findIntersections());
+
+			// Sweeping other line segments put in the same store.
+			SegmentStore other = scaledGrid(store.size(), 15, 0.3, seed + 1000);
+
+			store.clear();
+
+			for (int s = 0; s < other.size(); s++)
+			{
+				store.add(other, s);
+			}
+
+			sweep.reset();
+			assertEquals(bruteForce(other), pairs(sweep.findIntersectingPairs(result)), "seed " + seed + ", refilled");
+		}
+	}
+
+	@Test
+	void scaledDecimalCoordinates()
+	{
+		// The same line segments with their coordinates computed as multiples of 0.1, 14 * 0.1 being just above 1.4.
+		SegmentStore store = new SegmentStore();
+		store.add(14 * 0.1, 5 * 0.1, 0, 1 * 0.1);
+		store.add(4 * 0.1, 1 * 0.1, 0, 7 * 0.1);
+		store.add(2 * 0.1, 4 * 0.1, 6 * 0.1, 1 * 0.1);
+		store.add(7 * 0.1, 14 * 0.1, 2 * 0.1, 4 * 0.1);
+
+		assertEquals(bruteForce(store), pairs(new BentleyOttmann(store).findIntersectingPairs()));
+	}
+
+	@Test
+	void scaledGrid()
+	{
+		for (double scale : new double[] { 0.1, 0.3, 1.7 })
+		{
+			for (long seed = 0; seed < 100; seed++)
+			{
+				SegmentStore store = scaledGrid(120, 15, scale, seed);
+
+				assertEquals(bruteForce(store), pairs(new BentleyOttmann(store).findIntersectingPairs()),
+						"scale " + scale + ", seed " + seed);
+			}
+		}
+	}
+}
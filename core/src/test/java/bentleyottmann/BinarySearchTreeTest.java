@@ -0,0 +1,171 @@
+package bentleyottmann;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Checks the sweep line status against a sorted set of the line segments it should hold, and its height
+ *         against the bound of a red-black tree, over parallel line segments added and removed in sorted and random
+ *         order.
+ *         </p>
+ */
+class BinarySearchTreeTest
+{
+	// Checks the inorder sequence, links, handles, count and height of a tree over line segments ordered by id.
+	private static void assertTree(BinarySearchTree tree, TreeSet<Integer> expected, int segments)
+	{
+		int previous = -1;
+		int count = 0;
+
+		for (int p = tree.getMinNode(); p != -1; p = tree.getSuccessor(p))
+		{
+			assertEquals(previous, tree.getPredecessor(p));
+			assertEquals(p, tree.getNode(tree.getSegment(p)));
+			previous = p;
+			count++;
+		}
+
+		assertEquals(previous, tree.getMaxNode());
+		assertEquals(expected.size(), count);
+		assertEquals(expected.size(), tree.getCount());
+
+		int p = tree.getMinNode();
+
+		for (int s : expected)
+		{
+			assertEquals(s, tree.getSegment(p));
+			p = tree.getSuccessor(p);
+		}
+
+		for (int s = 0; s < segments; s++)
+		{
+			assertEquals(expected.contains(s), tree.getNode(s) != -1, "handle of " + s);
+		}
+
+		int height = tree.getHeight();
+
+		assertTrue(height <= 2 * Math.log(expected.size() + 1) / Math.log(2), "height " + height + " of "
+				+ expected.size() + " nodes");
+	}
+
+	// Creates horizontal line segments at y = id, all starting on the same sweep line position.
+	private static SegmentStore parallel(int segments)
+	{
+		SegmentStore store = new SegmentStore(segments);
+
+		for (int i = 0; i < segments; i++)
+		{
+			store.add(0.0, i, 1000.0, i);
+		}
+
+		return store;
+	}
+
+	@Test
+	void addMax()
+	{
+		SegmentStore store = parallel(1000);
+		BinarySearchTree tree = new BinarySearchTree(store);
+		TreeSet<Integer> expected = new TreeSet<>();
+
+		for (int s = 0; s < store.size(); s++)
+		{
+			tree.addMax(s);
+			expected.add(s);
+		}
+
+		assertTree(tree, expected, store.size());
+
+		// The tree filled without comparisons is searched and updated like any other.
+		for (int s = 0; s < store.size(); s += 3)
+		{
+			assertEquals(tree.getNode(s), tree.findNode(s, 0.0, s));
+			tree.remove(s, 0.0, s);
+			expected.remove(s);
+		}
+
+		assertTree(tree, expected, store.size());
+	}
+
+	@Test
+	void randomUpdates()
+	{
+		for (long seed = 0; seed < 10; seed++)
+		{
+			Random rand = new Random(seed);
+			SegmentStore store = parallel(500);
+			BinarySearchTree tree = new BinarySearchTree(store);
+			TreeSet<Integer> expected = new TreeSet<>();
+
+			for (int round = 0; round < 20; round++)
+			{
+				for (int i = 0; i < 100; i++)
+				{
+					int s = rand.nextInt(store.size());
+
+					if (expected.contains(s))
+					{
+						// Removing either by handle or by searching for the line segment.
+						if (rand.nextBoolean())
+						{
+							tree.removeNode(tree.getNode(s));
+						} else
+						{
+							tree.remove(s, 0.0, s);
+						}
+
+						expected.remove(s);
+					} else
+					{
+						tree.add(s, 0.0, s);
+						expected.add(s);
+					}
+				}
+
+				assertTree(tree, expected, store.size());
+			}
+
+			tree.clear();
+			expected.clear();
+			assertTree(tree, expected, store.size());
+		}
+	}
+
+	@Test
+	void sortedInsertions()
+	{
+		SegmentStore store = parallel(4096);
+		BinarySearchTree tree = new BinarySearchTree(store);
+		TreeSet<Integer> expected = new TreeSet<>();
+
+		// Ascending and then descending insertions, which degenerate an unbalanced tree into a list.
+		for (int s = 0; s < store.size(); s += 2)
+		{
+			tree.add(s, 0.0, s);
+			expected.add(s);
+		}
+
+		for (int s = store.size() - 1; s > 0; s -= 2)
+		{
+			tree.add(s, 0.0, s);
+			expected.add(s);
+		}
+
+		assertTree(tree, expected, store.size());
+
+		for (int s = 0; s < store.size() / 2; s++)
+		{
+			tree.removeNode(tree.getNode(s));
+			expected.remove(s);
+		}
+
+		assertTree(tree, expected, store.size());
+	}
+}
@@ -0,0 +1,42 @@
+package bentleyottmann;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Checks the crossings reported by the clustered sweep against those of a single sweep.
+ *         </p>
+ */
+class ClusteredBentleyOttmannTest
+{
+	@Test
+	void layered()
+	{
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try
+		{
+			for (long seed = 0; seed < 10; seed++)
+			{
+				// Short line segments spread over a large range fall into many clusters.
+				SegmentStore store = BentleyOttmannTest.layers(300, 1000, 20, seed);
+				BentleyOttmann sequential = new BentleyOttmann(store);
+				sequential.setLayered(true);
+				Map<Long, Integer> expected = BentleyOttmannTest.pairs(sequential.findIntersectingPairs());
+				ClusteredBentleyOttmann clustered = new ClusteredBentleyOttmann(store, pool);
+				clustered.setLayered(true);
+
+				assertEquals(expected, BentleyOttmannTest.pairs(clustered.findIntersectingPairs()), "seed " + seed);
+			}
+		} finally
+		{
+			pool.shutdown();
+		}
+	}
+}
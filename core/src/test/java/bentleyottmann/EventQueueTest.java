@@ -0,0 +1,131 @@
+package bentleyottmann;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Checks the order in which events leave the queue against a brute force search for the minimum among the
+ *         queued events, as events are added, removed by handle and moved by decreasing their keys.
+ *         </p>
+ */
+class EventQueueTest
+{
+	private static final int[] RANKS = { 2, 0, 1 }; // Order of the event types, by ordinal, at a shared event point.
+
+	// Compares two events by event point, and then by type.
+	private static int compare(Event a, Event b)
+	{
+		int order = Double.compare(a.getX(), b.getX());
+
+		if (order == 0)
+		{
+			order = Double.compare(a.getY(), b.getY());
+		}
+
+		return (order != 0) ? order
+				: Integer.compare(RANKS[a.getEventType().ordinal()], RANKS[b.getEventType().ordinal()]);
+	}
+
+	@Test
+	void intersectionEvents()
+	{
+		EventQueue eq = new EventQueue(1);
+		int h = eq.addIntersection(1.0, 2.0, 3, 7);
+
+		// Scheduling the same pair again, in either order, has no effect.
+		assertEquals(h, eq.addIntersection(1.0, 2.0, 7, 3));
+		assertEquals(h, eq.addIntersection(0.5, 2.0, 3, 7));
+		assertEquals(1, eq.size());
+		assertEquals(h, eq.findIntersectionEvent(7, 3));
+
+		eq.remove(h);
+
+		assertFalse(eq.contains(h));
+		assertEquals(-1, eq.findIntersectionEvent(3, 7));
+		assertTrue(eq.isEmpty());
+		assertEquals(h, eq.addIntersection(1.0, 2.0, 3, 7));
+	}
+
+	@Test
+	void randomOperations()
+	{
+		for (long seed = 0; seed < 10; seed++)
+		{
+			Random rand = new Random(seed);
+			// Starting small, so that the storage grows.
+			EventQueue eq = new EventQueue(1);
+			Map<Integer, Event> queued = new HashMap<>();
+			ArrayList<Integer> handles = new ArrayList<>();
+
+			for (int i = 0; i < 5000; i++)
+			{
+				int operation = rand.nextInt(10);
+
+				if (operation < 5 || queued.isEmpty())
+				{
+					// Coordinates on a small grid, so that event points are often shared.
+					Event e = new Event();
+					e.set(rand.nextInt(20), rand.nextInt(20), rand.nextInt(100), -1,
+							Event.Type.values()[rand.nextInt(3)]);
+					int h = eq.add(e);
+
+					assertFalse(queued.containsKey(h), "live handle " + h + " given out again");
+					queued.put(h, e);
+					handles.add(h);
+				} else if (operation < 7)
+				{
+					int h = handles.remove(rand.nextInt(handles.size()));
+
+					eq.remove(h);
+					queued.remove(h);
+					assertFalse(eq.contains(h));
+				} else if (operation < 8)
+				{
+					int h = handles.get(rand.nextInt(handles.size()));
+					Event e = queued.get(h);
+
+					e.set(e.getX() - rand.nextInt(3), e.getY() - rand.nextInt(3), e.getSegment(), -1,
+							e.getEventType());
+					eq.decreaseKey(h, e.getX(), e.getY());
+				} else
+				{
+					Event expected = null;
+
+					for (Event e : queued.values())
+					{
+						if (expected == null || compare(e, expected) < 0)
+						{
+							expected = e;
+						}
+					}
+
+					Event min = eq.removeMin();
+
+					assertEquals(0, compare(expected, min), "seed " + seed + ", operation " + i);
+					handles.removeIf(h -> !eq.contains(h));
+					queued.keySet().removeIf(h -> !eq.contains(h));
+				}
+
+				assertEquals(queued.size(), eq.size());
+
+				for (int j = 0; j < handles.size() && i % 100 == 0; j++)
+				{
+					int h = handles.get(j);
+
+					assertTrue(eq.contains(h));
+					assertEquals(queued.get(h).getSegment(), eq.get(h, new Event()).getSegment());
+				}
+			}
+		}
+	}
+}
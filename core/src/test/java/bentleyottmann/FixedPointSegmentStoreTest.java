@@ -0,0 +1,153 @@
+package bentleyottmann;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Checks the range of grid coordinates accepted by {@link FixedPointSegmentStore}, and its predicates and
+ *         crossings against exact arithmetic on line segments reaching the bounds of the grid.
+ *         </p>
+ */
+class FixedPointSegmentStoreTest
+{
+	private static final long MAX = FixedPointSegmentStore.MAX_COORDINATE;
+
+	// Returns the exact crossing of line segments a and b as the numerators of its coordinates over a positive
+	// denominator, or null if they do not straddle each other.
+	private static BigInteger[] exactCrossing(FixedPointSegmentStore store, int a, int b)
+	{
+		long[] p = { store.getGridX1(a), store.getGridY1(a), store.getGridX2(a), store.getGridY2(a) };
+		long[] q = { store.getGridX1(b), store.getGridY1(b), store.getGridX2(b), store.getGridY2(b) };
+
+		if (orientation(p[0], p[1], p[2], p[3], q[0], q[1]) * orientation(p[0], p[1], p[2], p[3], q[2], q[3]) >= 0
+				|| orientation(q[0], q[1], q[2], q[3], p[0], p[1])
+						* orientation(q[0], q[1], q[2], q[3], p[2], p[3]) >= 0)
+		{
+			return null;
+		}
+
+		BigInteger rx = BigInteger.valueOf(p[2] - p[0]);
+		BigInteger ry = BigInteger.valueOf(p[3] - p[1]);
+		BigInteger sx = BigInteger.valueOf(q[2] - q[0]);
+		BigInteger sy = BigInteger.valueOf(q[3] - q[1]);
+		BigInteger den = rx.multiply(sy).subtract(ry.multiply(sx));
+		BigInteger num = BigInteger.valueOf(q[0] - p[0]).multiply(sy).subtract(BigInteger.valueOf(q[1] - p[1])
+				.multiply(sx));
+
+		if (den.signum() < 0)
+		{
+			den = den.negate();
+			num = num.negate();
+		}
+
+		return new BigInteger[] { BigInteger.valueOf(p[0]).multiply(den).add(rx.multiply(num)),
+				BigInteger.valueOf(p[1]).multiply(den).add(ry.multiply(num)), den };
+	}
+
+	// Rounds numerator / den to the nearest integer, halves up.
+	private static long nearest(BigInteger numerator, BigInteger den)
+	{
+		BigInteger[] qr = numerator.shiftLeft(1).add(den).divideAndRemainder(den.shiftLeft(1));
+
+		return (qr[1].signum() < 0) ? qr[0].longValue() - 1 : qr[0].longValue();
+	}
+
+	// Returns the exact orientation of c relative to the directed line through a and b.
+	private static int orientation(long ax, long ay, long bx, long by, long cx, long cy)
+	{
+		return BigInteger.valueOf(bx - ax).multiply(BigInteger.valueOf(cy - ay))
+				.subtract(BigInteger.valueOf(by - ay).multiply(BigInteger.valueOf(cx - ax))).signum();
+	}
+
+	// Checks that an approximated coordinate lies within its error bound of the exact one, numerator / den.
+	private static boolean within(double approximation, double error, BigInteger numerator, BigInteger den)
+	{
+		BigDecimal exact = new BigDecimal(numerator);
+		BigDecimal scaled = new BigDecimal(den);
+
+		return new BigDecimal(approximation).multiply(scaled).subtract(exact).abs()
+				.compareTo(new BigDecimal(error).multiply(scaled)) <= 0;
+	}
+
+	@Test
+	void coordinateRange()
+	{
+		FixedPointSegmentStore store = new FixedPointSegmentStore();
+
+		store.add(-MAX, -MAX, MAX, MAX);
+		store.add(MAX + 0.4, 0.0, -MAX - 0.4, 1.0);
+
+		assertEquals(MAX, store.getGridX2(1));
+		assertThrows(IllegalArgumentException.class, () -> store.add(MAX + 1, 0, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> store.add(0, 0, 0, -MAX - 1));
+		assertThrows(IllegalArgumentException.class, () -> store.add(MAX + 0.5, 0.0, 0.0, 0.0));
+		assertEquals(2, store.size());
+	}
+
+	@Test
+	void extremeCoordinates()
+	{
+		for (long seed = 0; seed < 10; seed++)
+		{
+			Random rand = new Random(seed);
+			FixedPointSegmentStore store = new FixedPointSegmentStore();
+
+			for (int i = 0; i < 200; i++)
+			{
+				// Endpoints near the bounds of the grid, or anywhere within it.
+				long[] c = new long[4];
+
+				for (int j = 0; j < 4; j++)
+				{
+					c[j] = rand.nextBoolean() ? (rand.nextBoolean() ? MAX : -MAX) - (rand.nextInt(3) - 1) * rand
+							.nextInt(2) : rand.nextLong(2 * MAX + 1) - MAX;
+					c[j] = Math.max(-MAX, Math.min(MAX, c[j]));
+				}
+
+				store.add(c[0], c[1], c[2], c[3]);
+			}
+
+			Map<Long, Integer> expected = new HashMap<>();
+			double[] crossing = new double[3];
+			long[] pixel = new long[2];
+
+			for (int a = 0; a < store.size(); a++)
+			{
+				for (int b = a + 1; b < store.size(); b++)
+				{
+					BigInteger[] exact = exactCrossing(store, a, b);
+
+					assertEquals(exact != null, store.crosses(a, b), "seed " + seed + ", " + a + " " + b);
+
+					if (exact == null)
+					{
+						continue;
+					}
+
+					expected.put(((long) a << 32) | b, 1);
+					store.intersection(a, b, crossing);
+					store.snappedIntersection(a, b, pixel);
+
+					assertTrue(within(crossing[0], crossing[2], exact[0], exact[2]), "x of " + a + " " + b);
+					assertTrue(within(crossing[1], crossing[2], exact[1], exact[2]), "y of " + a + " " + b);
+					assertEquals(nearest(exact[0], exact[2]), pixel[0], "x of " + a + " " + b);
+					assertEquals(nearest(exact[1], exact[2]), pixel[1], "y of " + a + " " + b);
+				}
+			}
+
+			assertEquals(expected, BentleyOttmannTest.pairs(new BentleyOttmann(store).findIntersectingPairs()),
+					"seed " + seed);
+		}
+	}
+}
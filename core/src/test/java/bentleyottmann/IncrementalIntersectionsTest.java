@@ -0,0 +1,71 @@
+package bentleyottmann;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Checks the crossings kept by the incremental index against a test of every pair of indexed line segments, on
+ *         inputs mixing short line segments with ones far longer than the cells, as line segments are added and
+ *         removed.
+ *         </p>
+ */
+class IncrementalIntersectionsTest
+{
+	// Counts every crossing pair of indexed line segments once.
+	private static Map<Long, Integer> bruteForce(IncrementalIntersections index)
+	{
+		SegmentStore store = index.getSegmentStore();
+		Map<Long, Integer> pairs = new HashMap<>();
+		double[] crossing = new double[2];
+
+		for (int a = 0; a < store.size(); a++)
+		{
+			for (int b = a + 1; b < store.size(); b++)
+			{
+				if (index.contains(a) && index.contains(b) && store.intersection(a, b, crossing))
+				{
+					pairs.put(((long) a << 32) | b, 1);
+				}
+			}
+		}
+
+		return pairs;
+	}
+
+	@Test
+	void longSegments()
+	{
+		for (long seed = 0; seed < 10; seed++)
+		{
+			Random rand = new Random(seed);
+			IncrementalIntersections index = new IncrementalIntersections(new SegmentStore(), 1);
+
+			for (int i = 0; i < 300; i++)
+			{
+				double ax = rand.nextDouble() * 200;
+				double ay = rand.nextDouble() * 200;
+				double length = i % 10 == 0 ? 200 : 2;
+
+				index.addSegment(ax, ay, ax + (rand.nextDouble() - 0.5) * length,
+						ay + (rand.nextDouble() - 0.5) * length, null);
+			}
+
+			assertEquals(bruteForce(index), BentleyOttmannTest.pairs(index.getIntersectingPairs()), "seed " + seed);
+
+			for (int s = 0; s < 300; s += 1 + rand.nextInt(3))
+			{
+				index.removeSegment(s);
+			}
+
+			assertEquals(bruteForce(index), BentleyOttmannTest.pairs(index.getIntersectingPairs()),
+					"removed, seed " + seed);
+		}
+	}
+}
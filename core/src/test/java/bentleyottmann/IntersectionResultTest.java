@@ -0,0 +1,160 @@
+package bentleyottmann;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Checks the view of the crossings per point of intersection, on crossings emitted in random order around
+ *         known points, and on the crossings of pencils of lines found by the sweep.
+ *         </p>
+ */
+class IntersectionResultTest
+{
+	// Checks the points of a result, in order of their first crossings, and their distinct line segments.
+	private static void assertPoints(List<double[]> points, List<TreeSet<Integer>> segments, IntersectionResult result)
+	{
+		assertEquals(points.size(), result.getPointCount());
+
+		for (int p = 0; p < points.size(); p++)
+		{
+			int[] expected = segments.get(p).stream().mapToInt(Integer::intValue).toArray();
+
+			assertEquals(points.get(p)[0], result.getPointX(p));
+			assertEquals(points.get(p)[1], result.getPointY(p));
+			assertArrayEquals(expected, result.getSegmentsAt(p), "point " + p);
+			assertEquals(expected.length, result.getSegmentCountAt(p));
+
+			for (int j = 0; j < expected.length; j++)
+			{
+				assertEquals(expected[j], result.getSegmentAt(p, j));
+			}
+		}
+	}
+
+	@Test
+	void pencils()
+	{
+		// Each pencil of lines crosses at its center, and no two lines of different pencils cross there.
+		int[][] centers = { { 0, 0 }, { 300, 700 }, { -400, 100 } };
+		SegmentStore store = new SegmentStore();
+		List<TreeSet<Integer>> segments = new ArrayList<>();
+
+		for (int[] center : centers)
+		{
+			TreeSet<Integer> pencil = new TreeSet<>();
+
+			for (int k = -6; k <= 6; k++)
+			{
+				pencil.add(store.add(center[0] - 1000, center[1] - 7 * k - 1, center[0] + 1000, center[1] + 7 * k
+						+ 1));
+			}
+
+			segments.add(pencil);
+		}
+
+		IntersectionResult result = new BentleyOttmann(store).findIntersectingPairs();
+
+		for (int p = 0; p < result.getPointCount(); p++)
+		{
+			TreeSet<Integer> through = new TreeSet<>();
+
+			for (int s : result.getSegmentsAt(p))
+			{
+				through.add(s);
+			}
+
+			// A point of intersection is either the center of a pencil, with all of its lines, or a crossing of two.
+			if (through.size() > 2)
+			{
+				assertTrue(segments.remove(through), "point " + p + " through " + through);
+			}
+		}
+
+		assertEquals(0, segments.size(), "missing pencils " + segments);
+	}
+
+	@Test
+	void randomCrossings()
+	{
+		for (long seed = 0; seed < 10; seed++)
+		{
+			Random rand = new Random(seed);
+			IntersectionResult result = new IntersectionResult();
+
+			// Filling and grouping twice, the second time into the storage of the first.
+			for (int round = 0; round < 2; round++)
+			{
+				List<double[]> crossings = new ArrayList<>();
+				int pointCount = 1 + rand.nextInt(50);
+
+				for (int p = 0; p < pointCount; p++)
+				{
+					double x = p * 10.0 + rand.nextInt(5);
+					double y = rand.nextInt(1000) * 0.1;
+					int lines = 2 + rand.nextInt(6);
+
+					// Every pair of the lines through the point, with coordinates moved within POINT_EPSILON.
+					for (int a = 0; a < lines; a++)
+					{
+						for (int b = a + 1; b < lines; b++)
+						{
+							crossings.add(new double[] { x + (rand.nextDouble() - 0.5) * 0.4 * Globals.POINT_EPSILON,
+									y, 100 * p + a, 100 * p + b });
+						}
+					}
+				}
+
+				Collections.shuffle(crossings, rand);
+				result.clear();
+
+				List<double[]> points = new ArrayList<>();
+				List<TreeSet<Integer>> segments = new ArrayList<>();
+
+				for (double[] crossing : crossings)
+				{
+					int point = (int) crossing[2] / 100;
+					int index = -1;
+
+					for (int i = 0; i < points.size(); i++)
+					{
+						if ((int) points.get(i)[2] == point)
+						{
+							index = i;
+						}
+					}
+
+					if (index == -1)
+					{
+						index = points.size();
+						points.add(new double[] { crossing[0], crossing[1], point });
+						segments.add(new TreeSet<>());
+					}
+
+					segments.get(index).add((int) crossing[2]);
+					segments.get(index).add((int) crossing[3]);
+					result.accept(crossing[0], crossing[1], (int) crossing[2], (int) crossing[3]);
+
+					// Grouping halfway through, the view is rebuilt once more crossings arrive.
+					if (points.size() == pointCount / 2)
+					{
+						result.getPointCount();
+					}
+				}
+
+				assertEquals(crossings.size(), result.size());
+				assertPoints(points, segments, result);
+			}
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package bentleyottmann;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Checks the map against a {@link HashMap} under random insertions and removals over a small set of keys,
+ *         including the key 0, so that probe runs are repeatedly broken up by removals and shifted back.
+ *         </p>
+ */
+class LongIntMapTest
+{
+	// Checks every key of the pool against the expected entries.
+	private static void assertMap(Map<Long, Integer> expected, LongIntMap map, long[] pool)
+	{
+		assertEquals(expected.size(), map.size());
+
+		for (long key : pool)
+		{
+			assertEquals(expected.getOrDefault(key, -1), map.get(key), "key " + key);
+			assertEquals(expected.containsKey(key), map.containsKey(key), "key " + key);
+		}
+	}
+
+	@Test
+	void randomOperations()
+	{
+		for (long seed = 0; seed < 10; seed++)
+		{
+			Random rand = new Random(seed);
+			// Small keys, pair keys of line segments and extreme keys, mixed with the key 0.
+			long[] pool = new long[300];
+
+			for (int i = 0; i < pool.length; i++)
+			{
+				pool[i] = (i % 3 == 0) ? i : (i % 3 == 1) ? EventQueue.pairKey(rand.nextInt(50), rand.nextInt(50))
+						: rand.nextLong();
+			}
+
+			pool[1] = 0L;
+			pool[2] = Long.MIN_VALUE;
+
+			LongIntMap map = new LongIntMap(-1);
+			Map<Long, Integer> expected = new HashMap<>();
+
+			for (int i = 0; i < 20000; i++)
+			{
+				long key = pool[rand.nextInt(pool.length)];
+
+				if (rand.nextInt(3) == 0)
+				{
+					assertEquals(expected.getOrDefault(key, -1), map.remove(key), "removing " + key);
+					expected.remove(key);
+				} else
+				{
+					int value = rand.nextInt(1000);
+
+					assertEquals(expected.getOrDefault(key, -1), map.put(key, value), "putting " + key);
+					expected.put(key, value);
+				}
+
+				if (i % 500 == 0)
+				{
+					assertMap(expected, map, pool);
+				}
+			}
+
+			assertMap(expected, map, pool);
+
+			// Removing every key leaves an empty map, which is then reused after clear.
+			for (int i = pool.length - 1; i >= 0; i--)
+			{
+				assertEquals(expected.getOrDefault(pool[i], -1), map.remove(pool[i]), "removing " + pool[i]);
+				expected.remove(pool[i]);
+			}
+
+			assertMap(expected, map, pool);
+			map.put(pool[0], 1);
+			map.clear();
+			expected.clear();
+			assertMap(expected, map, pool);
+		}
+	}
+}
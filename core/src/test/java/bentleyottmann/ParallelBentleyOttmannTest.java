@@ -0,0 +1,147 @@
+package bentleyottmann;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Checks the crossings reported by the slab-partitioned sweep against a brute force test of every pair of line
+ *         segments, on inputs whose crossings and endpoints fall on the boundaries between slabs.
+ *         </p>
+ */
+class ParallelBentleyOttmannTest
+{
+	private static final int[] SLABS = { 2, 5, 16 };
+
+	private static ForkJoinPool pool;
+
+	@BeforeAll
+	static void createPool()
+	{
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterAll
+	static void shutdownPool()
+	{
+		pool.shutdown();
+	}
+
+	// Checks every number of slabs against the brute force test.
+	private static void assertBruteForce(SegmentStore store, String input)
+	{
+		for (int slabs : SLABS)
+		{
+			assertEquals(BentleyOttmannTest.bruteForce(store),
+					BentleyOttmannTest.pairs(new ParallelBentleyOttmann(store, pool, slabs).findIntersectingPairs()),
+					input + ", " + slabs + " slabs");
+		}
+	}
+
+	@Test
+	void grid()
+	{
+		for (long seed = 0; seed < 10; seed++)
+		{
+			assertBruteForce(SegmentStore.of(SegmentGenerator.grid(300, 1000, new Random(seed))), "seed " + seed);
+		}
+	}
+
+	@Test
+	void integerCoordinates()
+	{
+		for (long seed = 0; seed < 10; seed++)
+		{
+			Random rand = new Random(seed);
+			SegmentStore store = new SegmentStore();
+			FixedPointSegmentStore fixed = new FixedPointSegmentStore();
+
+			for (int i = 0; i < 300; i++)
+			{
+				long ax = rand.nextInt(1000);
+				long ay = rand.nextInt(1000);
+				long bx = rand.nextInt(1000);
+				long by = rand.nextInt(1000);
+
+				store.add(ax, ay, bx, by);
+				fixed.add(ax, ay, bx, by);
+			}
+
+			assertBruteForce(store, "seed " + seed);
+			assertBruteForce(fixed, "fixed point, seed " + seed);
+		}
+	}
+
+	@Test
+	void layered()
+	{
+		for (long seed = 0; seed < 10; seed++)
+		{
+			SegmentStore store = BentleyOttmannTest.layers(300, 100, 20, seed);
+			BentleyOttmann sequential = new BentleyOttmann(store);
+			sequential.setLayered(true);
+			Map<Long, Integer> expected = BentleyOttmannTest.pairs(sequential.findIntersectingPairs());
+
+			for (int slabs : SLABS)
+			{
+				ParallelBentleyOttmann parallel = new ParallelBentleyOttmann(store, pool, slabs);
+				parallel.setLayered(true);
+
+				assertEquals(expected, BentleyOttmannTest.pairs(parallel.findIntersectingPairs()),
+						"seed " + seed + ", " + slabs + " slabs");
+			}
+		}
+	}
+
+	@Test
+	void longSegments()
+	{
+		// Centers of pencils of lines, on the boundaries between slabs which lines spanning the range get.
+		int[][] centers = { { 0, 7 }, { -200, 3 }, { 600, -11 }, { -750, 0 } };
+
+		for (long seed = 0; seed < 10; seed++)
+		{
+			Random rand = new Random(seed);
+			SegmentStore store = new SegmentStore();
+
+			for (int[] center : centers)
+			{
+				for (int i = 0; i < 20; i++)
+				{
+					int k = rand.nextInt(41) - 20;
+
+					store.add(-1000, center[1] - k * (1000 + center[0]) / 50, 1000, center[1] + k * (1000 - center[0])
+							/ 50);
+				}
+			}
+
+			for (int i = 0; i < 200; i++)
+			{
+				store.add(-1000, rand.nextInt(1000), 1000, rand.nextInt(1000));
+			}
+
+			assertBruteForce(store, "seed " + seed);
+		}
+	}
+
+	@Test
+	void scaledGrid()
+	{
+		for (double scale : new double[] { 0.1, 1.7 })
+		{
+			for (long seed = 0; seed < 10; seed++)
+			{
+				assertBruteForce(BentleyOttmannTest.scaledGrid(120, 15, scale, seed), "scale " + scale + ", seed "
+						+ seed);
+			}
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package bentleyottmann;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Checks the deduplication of points by {@link PointIndex} against the known clusters of the points, near the
+ *         boundaries of its cells and far beyond its grid, and the hash code contract of {@link Point}.
+ *         </p>
+ */
+class PointIndexTest
+{
+	// Coordinates of the centers of the clusters, on and near cell boundaries, and beyond the grid.
+	private static final double[] CENTERS = { 0.0, 5 * Globals.POINT_EPSILON, 1.0, -1.0, 12345.678, 4.6e9, 9.3e9,
+			-9.3e9, 1e12, -1e15, 1e300 };
+
+	@Test
+	void clusters()
+	{
+		Random rand = new Random(42);
+		PointIndex index = new PointIndex();
+		int[] firsts = new int[CENTERS.length * CENTERS.length];
+
+		for (int round = 0; round < 20; round++)
+		{
+			for (int i = 0; i < CENTERS.length; i++)
+			{
+				for (int j = 0; j < CENTERS.length; j++)
+				{
+					double x = CENTERS[i];
+					double y = CENTERS[j];
+
+					// Points within a third of POINT_EPSILON of a center all coincide with each other.
+					if (Math.ulp(x) < Globals.POINT_EPSILON)
+					{
+						x += (rand.nextDouble() - 0.5) * Globals.POINT_EPSILON / 3;
+					}
+
+					if (Math.ulp(y) < Globals.POINT_EPSILON)
+					{
+						y += (rand.nextDouble() - 0.5) * Globals.POINT_EPSILON / 3;
+					}
+
+					int cluster = i * CENTERS.length + j;
+					int added = index.add(x, y);
+
+					if (round == 0)
+					{
+						firsts[cluster] = added;
+					}
+
+					assertEquals(firsts[cluster], added, "(" + x + ", " + y + ")");
+				}
+			}
+		}
+
+		assertEquals(CENTERS.length * CENTERS.length, index.size());
+	}
+
+	@Test
+	void pointHashCode()
+	{
+		Set<Point> points = new HashSet<>();
+
+		points.add(new Point(0.1 + 0.2, 1.0));
+		points.add(new Point(0.3, 1.0));
+		points.add(new Point(0.1 + 0.2, 1.0));
+
+		// Equal points have equal hash codes, only exactly equal points being equal.
+		assertEquals(2, points.size());
+		assertNotEquals(new Point(0.1 + 0.2, 1.0), new Point(0.3, 1.0));
+		assertTrue(new Point(0.1 + 0.2, 1.0).coincides(new Point(0.3, 1.0)));
+	}
+}
@@ -0,0 +1,167 @@
+package bentleyottmann;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author E. Aguilar
+ *         <p>
+ *         Checks snap rounding against a brute force one, which finds the hot pixels by testing every pair of line
+ *         segments and reroutes every line segment through each hot pixel whose half-open square it meets, clipping it
+ *         to the square in exact rational arithmetic.
+ *         </p>
+ */
+class SnapRounderTest
+{
+	private static final long OFFSET = 1L << 16; // Makes small y-coordinates positive in keys.
+
+	// Packs a grid point with a non-negative x and a small y into a key, ordered by x and then by y.
+	private static long keyOf(long x, long y)
+	{
+		return (x << 32) | (y + OFFSET);
+	}
+
+	// Checks if line segment s meets the pixel of a grid point, the half-open unit square around it. In doubled
+	// coordinates, the parameters along the line segment bounding each axis are fractions, compared exactly.
+	private static boolean meets(FixedPointSegmentStore store, int s, long hx, long hy)
+	{
+		long[] a = { 2 * store.getGridX1(s), 2 * store.getGridY1(s) };
+		long[] d = { 2 * store.getGridX2(s) - a[0], 2 * store.getGridY2(s) - a[1] };
+		long[] h = { hx, hy };
+		// Range of the parameter, as numerators over denominators, and whether each end is open.
+		long lowNum = 0, lowDen = 1, highNum = 1, highDen = 1;
+		boolean lowOpen = false, highOpen = false;
+
+		for (int axis = 0; axis < 2; axis++)
+		{
+			// Offsets from the line segment to the closed and to the open edge along the axis, d times the parameters
+			// reaching them.
+			long closed = 2 * h[axis] - 1 - a[axis];
+			long open = 2 * h[axis] + 1 - a[axis];
+
+			if (d[axis] == 0)
+			{
+				if (closed > 0 || open <= 0)
+				{
+					return false;
+				}
+
+				continue;
+			}
+
+			long den = Math.abs(d[axis]);
+			long from = (d[axis] > 0) ? closed : -open;
+			long to = (d[axis] > 0) ? open : -closed;
+			boolean fromOpen = d[axis] < 0;
+			boolean toOpen = d[axis] > 0;
+			long order = from * lowDen - lowNum * den;
+
+			if (order > 0 || (order == 0 && fromOpen))
+			{
+				lowNum = from;
+				lowDen = den;
+				lowOpen = fromOpen;
+			}
+
+			order = to * highDen - highNum * den;
+
+			if (order < 0 || (order == 0 && toOpen))
+			{
+				highNum = to;
+				highDen = den;
+				highOpen = toOpen;
+			}
+		}
+
+		long order = lowNum * highDen - highNum * lowDen;
+
+		return order < 0 || (order == 0 && !lowOpen && !highOpen);
+	}
+
+	private static long xOf(long key)
+	{
+		return key >> 32;
+	}
+
+	private static long yOf(long key)
+	{
+		return (key & 0xFFFFFFFFL) - OFFSET;
+	}
+
+	@Test
+	void randomSegments()
+	{
+		for (long seed = 0; seed < 10; seed++)
+		{
+			Random rand = new Random(seed);
+			FixedPointSegmentStore store = new FixedPointSegmentStore();
+
+			for (int i = 0; i < 150; i++)
+			{
+				store.add(rand.nextInt(40), rand.nextInt(40), rand.nextInt(40), rand.nextInt(40));
+			}
+
+			TreeSet<Long> hot = new TreeSet<>();
+			long[] pixel = new long[2];
+
+			for (int a = 0; a < store.size(); a++)
+			{
+				hot.add(keyOf(store.getGridX1(a), store.getGridY1(a)));
+				hot.add(keyOf(store.getGridX2(a), store.getGridY2(a)));
+
+				for (int b = a + 1; b < store.size(); b++)
+				{
+					if (store.snappedIntersection(a, b, pixel))
+					{
+						hot.add(keyOf(pixel[0], pixel[1]));
+					}
+				}
+			}
+
+			SnapRounding rounding = new SnapRounder(store).snapRound();
+			List<Long> pixels = new ArrayList<>(hot);
+
+			assertEquals(pixels.size(), rounding.getHotPixelCount(), "seed " + seed);
+
+			for (int i = 0; i < pixels.size(); i++)
+			{
+				assertEquals((long) pixels.get(i), keyOf(rounding.getHotPixelX(i), rounding.getHotPixelY(i)));
+			}
+
+			for (int s = 0; s < store.size(); s++)
+			{
+				boolean up = store.getGridY2(s) >= store.getGridY1(s);
+				// Hot pixels met by the line segment, in polyline order, by x and then by y along the line segment.
+				TreeSet<Long> expected = new TreeSet<>();
+
+				for (long key : pixels)
+				{
+					long hx = xOf(key);
+					long hy = yOf(key);
+
+					if (meets(store, s, hx, hy))
+					{
+						expected.add(keyOf(hx, up ? hy : -hy));
+					}
+				}
+
+				assertEquals(expected.size(), rounding.getVertexCount(s), "seed " + seed + ", line segment " + s);
+
+				int j = 0;
+
+				for (long key : expected)
+				{
+					assertEquals(xOf(key), rounding.getVertexX(s, j));
+					assertEquals(up ? yOf(key) : -yOf(key), rounding.getVertexY(s, j));
+					j++;
+				}
+			}
+		}
+	}
+}